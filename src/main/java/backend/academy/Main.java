@@ -1,13 +1,14 @@
 package backend.academy;
 
+import backend.academy.factories.RandomFactory;
 import backend.academy.renderer.BaseRenderer;
 import backend.academy.services.ExceptionHandlerService;
 import backend.academy.services.StartService;
+import backend.academy.settings.Settings;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
-import java.security.SecureRandom;
 import lombok.experimental.UtilityClass;
 
 /**
@@ -20,7 +21,7 @@ public class Main {
             StartService startService = new StartService(
                 new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
                 new BaseRenderer(),
-                new SecureRandom(),
+                new RandomFactory(Settings.randomAlgorithm(), Settings.seed()).create(),
                 new MainInterface(new PrintWriter(System.out, true, StandardCharsets.UTF_8)));
             startService.start();
 
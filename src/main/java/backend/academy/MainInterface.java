@@ -1,10 +1,15 @@
 package backend.academy;
 
+import backend.academy.entities.Coordinate;
+import backend.academy.entities.Maze;
 import backend.academy.interfaces.Generator;
 import backend.academy.interfaces.Modifier;
+import backend.academy.interfaces.Renderer;
 import backend.academy.interfaces.Solver;
 import backend.academy.settings.Settings;
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.List;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -29,11 +34,11 @@ public class MainInterface {
     }
 
     public void chooseHeight() {
-        chooseDimension("height", Settings.MIN_HEIGHT, Settings.MAX_HEIGHT);
+        chooseDimension("height", Settings.MIN_HEIGHT, Settings.maxHeight());
     }
 
     public void chooseWidth() {
-        chooseDimension("width", Settings.MIN_WIDTH, Settings.MAX_WIDTH);
+        chooseDimension("width", Settings.MIN_WIDTH, Settings.maxWidth());
     }
 
     public void chooseGenerator() {
@@ -41,6 +46,10 @@ public class MainInterface {
             Select generator:
             1. RecursiveBacktrackingGenerator
             2. PrimGenerator
+            3. KruskalGenerator
+            4. EllerGenerator
+            5. ParallelTiledGenerator
+            6. SidewinderGenerator
             Type number of generator you want to choose or other symbols to choose random""";
         printMessage(currMessage);
     }
@@ -49,7 +58,15 @@ public class MainInterface {
         currMessage = """
             Select solver:
             1. BFSSolver
-            2. DFSSolver
+            2. DFSSolver (any path, not the cheapest one in mazes with loops)
+            3. DijkstraSolver
+            4. AStarSolver (same order as DijkstraSolver: free ice makes the estimate zero)
+            5. Weighted AStarSolver (path may cost up to 1.5 times more, but is found faster)
+            6. BidirectionalDijkstraSolver
+            7. JunctionGraphSolver
+            8. ParallelBFSSolver (fewest moves, terrain cost is ignored)
+            9. DeltaSteppingSolver
+            10. LPAStarSolver
             Type number of solver you want to choose or other symbols to choose random""";
         printMessage(currMessage);
     }
@@ -145,6 +162,21 @@ public class MainInterface {
         printMessage(currMessage);
     }
 
+    /**
+     * Streams the rendered maze straight to the output without keeping it in memory.
+     * Used in the large-maze mode, where the rendering is too big to be stored as a message.
+     *
+     * @param renderer the renderer used to draw the maze
+     * @param maze     the maze to be shown
+     * @param path     the path to be highlighted, or null
+     * @throws IOException if the maze cannot be written
+     */
+    public void streamMaze(Renderer renderer, Maze maze, List<Coordinate> path) throws IOException {
+        currMessage = "Maze " + maze.height() + "x" + maze.width();
+        renderer.render(maze, path, writer);
+        writer.println();
+    }
+
     public void finish() {
         currMessage = "Work Finished!";
         printMessage(currMessage);
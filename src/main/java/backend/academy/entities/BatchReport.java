@@ -0,0 +1,23 @@
+package backend.academy.entities;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the result of a batch of generated mazes.
+ * A report is only made for a batch in which every maze has been generated and consumed:
+ * a failed batch cancels its remaining mazes and throws instead.
+ *
+ * @param count        The number of generated mazes.
+ * @param elapsedNanos The wall-clock time of the whole batch in nanoseconds.
+ */
+public record BatchReport(int count, long elapsedNanos) {
+
+    /**
+     * Returns the throughput of the batch.
+     *
+     * @return the number of mazes generated per second
+     */
+    public double mazesPerSecond() {
+        return elapsedNanos == 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
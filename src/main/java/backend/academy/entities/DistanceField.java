@@ -0,0 +1,79 @@
+package backend.academy.entities;
+
+import backend.academy.interfaces.Grid;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Holds the cheapest distances from one source cell to all cells of a maze.
+ * <p>
+ * Every reached cell keeps the index of the cell it was entered from, so the cheapest path
+ * from the source to any cell is restored in time proportional to its length.
+ */
+public class DistanceField {
+    /** The distance of the cells that cannot be reached from the source. */
+    public static final int UNREACHED = Integer.MAX_VALUE;
+
+    private final Grid grid;
+    @Getter private final Coordinate source;
+    private final int[] distances;
+    private final int[] previous;
+
+    /**
+     * Creates a field from the arrays filled by a search. The arrays are not copied.
+     *
+     * @param grid      the grid of the maze
+     * @param source    the source cell
+     * @param distances the distance of every cell by its index, {@link #UNREACHED} for unreached cells
+     * @param previous  the index of the cell every reached cell was entered from
+     */
+    public DistanceField(Grid grid, Coordinate source, int[] distances, int[] previous) {
+        this.grid = grid;
+        this.source = source;
+        this.distances = distances;
+        this.previous = previous;
+    }
+
+    /**
+     * Returns the number of cells covered by the field.
+     *
+     * @return the size of the grid
+     */
+    public int size() {
+        return distances.length;
+    }
+
+    /**
+     * Returns the cost of the cheapest path from the source to the given cell.
+     *
+     * @param end the cell
+     * @return the cost of the path, or {@link #UNREACHED} if the cell cannot be reached
+     */
+    public int distance(Coordinate end) {
+        return distances[grid.index(end.row(), end.col())];
+    }
+
+    /**
+     * Restores the cheapest path from the source to the given cell.
+     *
+     * @param end the last cell of the path
+     * @return the path from the source to the cell, or an empty list if the cell cannot be reached
+     */
+    public List<Coordinate> path(Coordinate end) {
+        int sourceIndex = grid.index(source.row(), source.col());
+        int current = grid.index(end.row(), end.col());
+        List<Coordinate> path = new ArrayList<>();
+        if (distances[current] == UNREACHED) {
+            return path;
+        }
+        path.add(end);
+        while (current != sourceIndex) {
+            current = previous[current];
+            path.add(new Coordinate(grid.row(current), grid.col(current)));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -1,15 +1,27 @@
 package backend.academy.entities;
 
+import backend.academy.interfaces.Grid;
+
 /**
  * Represents a maze consisting of a grid of cells.
  * <p>
- * A Maze is defined by its height and width, along with a 2D array of
+ * A Maze is defined by its height and width, along with the {@link Grid} of
  * cells that make up the maze structure. Each cell can represent different
  * types of terrain or obstacles within the maze.
  *
  * @param height The height of the maze, representing the number of rows.
  * @param width The width of the maze, representing the number of columns.
- * @param grid A 2D array of {@link Cell} objects that defines the maze structure.
+ * @param grid The {@link Grid} that defines the maze structure.
  */
-public record Maze(int height, int width, Cell[][] grid) {
+public record Maze(int height, int width, Grid grid) {
+    /**
+     * Creates a maze from a two-dimensional array of cells, packing them into a {@link PackedGrid}.
+     *
+     * @param height The height of the maze.
+     * @param width The width of the maze.
+     * @param grid A 2D array of {@link Cell} objects that defines the maze structure.
+     */
+    public Maze(int height, int width, Cell[][] grid) {
+        this(height, width, PackedGrid.of(grid));
+    }
 }
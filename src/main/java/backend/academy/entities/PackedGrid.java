@@ -0,0 +1,54 @@
+package backend.academy.entities;
+
+import backend.academy.enums.Type;
+import backend.academy.interfaces.Grid;
+import lombok.Getter;
+
+/**
+ * Grid that keeps the type of every cell in a single byte.
+ * <p>
+ * Cells are stored row by row in a flat {@code byte[]} holding {@link Type#code()} values,
+ * so a maze costs one byte per cell instead of a {@link Cell} and a {@link Coordinate} object.
+ * A freshly created grid is filled with {@link Type#DEFAULT} cells.
+ */
+public class PackedGrid implements Grid {
+    @Getter private final int height;
+    @Getter private final int width;
+    private final byte[] cells;
+    @Getter private long modificationCount;
+
+    public PackedGrid(int height, int width) {
+        this.height = height;
+        this.width = width;
+        this.cells = new byte[Math.multiplyExact(height, width)];
+    }
+
+    /**
+     * Creates a packed grid from a two-dimensional array of cells.
+     *
+     * @param grid the cells, indexed as {@code grid[row][col]}
+     * @return the packed copy of the cells
+     */
+    public static PackedGrid of(Cell[][] grid) {
+        int height = grid.length;
+        int width = height == 0 ? 0 : grid[0].length;
+        PackedGrid packed = new PackedGrid(height, width);
+        for (Cell[] row : grid) {
+            for (Cell cell : row) {
+                packed.setCell(cell);
+            }
+        }
+        return packed;
+    }
+
+    @Override
+    public Type type(int index) {
+        return Type.fromCode(cells[index]);
+    }
+
+    @Override
+    public void setType(int index, Type type) {
+        cells[index] = type.code();
+        modificationCount++;
+    }
+}
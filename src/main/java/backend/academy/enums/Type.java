@@ -22,8 +22,68 @@ public enum Type {
     START(Integer.MIN_VALUE),
     END(Integer.MAX_VALUE);
 
+    private static final Type[] VALUES = values();
+    private static final int MIN_PASSABLE_COST = computePassableCost(true);
+    private static final int MAX_PASSABLE_COST = computePassableCost(false);
+
     private final int type;
 
+    /**
+     * Returns the compact code of this type used by packed grids.
+     *
+     * @return the code of the type that fits into a single byte
+     */
+    public byte code() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Returns the type stored under the given compact code.
+     *
+     * @param code the code previously obtained from {@link #code()}
+     * @return the type corresponding to the code
+     */
+    public static Type fromCode(byte code) {
+        return VALUES[code];
+    }
+
+    /**
+     * Checks if the cell of this type can be walked through.
+     *
+     * @return true for NORMAL, ICE and SAND cells, false otherwise
+     */
+    public boolean isPassable() {
+        return this == NORMAL || this == ICE || this == SAND;
+    }
+
+    /**
+     * Returns the lowest cost of entering a passable cell.
+     *
+     * @return the minimum weight among the passable types
+     */
+    public static int minPassableCost() {
+        return MIN_PASSABLE_COST;
+    }
+
+    /**
+     * Returns the highest cost of entering a passable cell.
+     *
+     * @return the maximum weight among the passable types
+     */
+    public static int maxPassableCost() {
+        return MAX_PASSABLE_COST;
+    }
+
+    private static int computePassableCost(boolean isMin) {
+        int result = isMin ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+        for (Type value : VALUES) {
+            if (value.isPassable()) {
+                result = isMin ? Math.min(result, value.type) : Math.max(result, value.type);
+            }
+        }
+        return result;
+    }
+
     @Override public String toString() {
         return String.valueOf(type);
     }
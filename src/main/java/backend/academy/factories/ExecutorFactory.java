@@ -0,0 +1,33 @@
+package backend.academy.factories;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Factory class for creating executors that run batch generation.
+ * <p>
+ * Supports a virtual thread per task executor and a fixed pool of platform threads.
+ */
+@RequiredArgsConstructor
+public class ExecutorFactory {
+    public static final String VIRTUAL = "virtual";
+    public static final String FIXED = "fixed";
+
+    private final int threads;
+
+    /**
+     * Creates an executor of the given kind.
+     *
+     * @param executor {@link #VIRTUAL} or {@link #FIXED}
+     * @return the new executor, the caller is responsible for closing it
+     * @throws IllegalArgumentException if the kind of executor is unknown
+     */
+    public ExecutorService selectExecutor(String executor) {
+        return switch (executor) {
+            case VIRTUAL -> Executors.newVirtualThreadPerTaskExecutor();
+            case FIXED -> Executors.newFixedThreadPool(threads);
+            default -> throw new IllegalArgumentException("Unknown executor: " + executor);
+        };
+    }
+}
@@ -1,9 +1,15 @@
 package backend.academy.factories;
 
+import backend.academy.generators.EllerGenerator;
+import backend.academy.generators.KruskalGenerator;
+import backend.academy.generators.ParallelTiledGenerator;
 import backend.academy.generators.PrimGenerator;
 import backend.academy.generators.RecursiveBacktrackingGenerator;
+import backend.academy.generators.SidewinderGenerator;
 import backend.academy.interfaces.Generator;
-import java.security.SecureRandom;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -14,16 +20,24 @@ import lombok.RequiredArgsConstructor;
  */
 @RequiredArgsConstructor
 public class GeneratorFactory {
-    private final Generator recursiveBacktrackingGenerator = createRecursiveBacktrackingGenerator();
-    private final Generator primGenerator = createPrimGenerator();
-    private final Generator[] generators = {recursiveBacktrackingGenerator, primGenerator};
+    private final List<Supplier<Generator>> generators = List.of(
+        this::createRecursiveBacktrackingGenerator,
+        this::createPrimGenerator,
+        this::createKruskalGenerator,
+        this::createEllerGenerator,
+        this::createParallelTiledGenerator,
+        this::createSidewinderGenerator);
 
-    private final SecureRandom random;
+    private final RandomGenerator random;
 
     public Generator selectGenerator(String generator) {
         return switch (generator) {
             case "1" -> createRecursiveBacktrackingGenerator();
             case "2" -> createPrimGenerator();
+            case "3" -> createKruskalGenerator();
+            case "4" -> createEllerGenerator();
+            case "5" -> createParallelTiledGenerator();
+            case "6" -> createSidewinderGenerator();
             default -> getRandomGenerator();
         };
     }
@@ -36,7 +50,23 @@ public class GeneratorFactory {
         return new PrimGenerator(random);
     }
 
+    private Generator createKruskalGenerator() {
+        return new KruskalGenerator(random);
+    }
+
+    private Generator createEllerGenerator() {
+        return new EllerGenerator(random);
+    }
+
+    private Generator createParallelTiledGenerator() {
+        return new ParallelTiledGenerator(random);
+    }
+
+    private Generator createSidewinderGenerator() {
+        return new SidewinderGenerator(random);
+    }
+
     private Generator getRandomGenerator() {
-        return generators[random.nextInt(generators.length)];
+        return generators.get(random.nextInt(generators.size())).get();
     }
 }
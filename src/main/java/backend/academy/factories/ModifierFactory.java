@@ -3,8 +3,10 @@ package backend.academy.factories;
 import backend.academy.entities.Maze;
 import backend.academy.interfaces.Modifier;
 import backend.academy.modifiers.NonIdealMazeModifier;
-import java.security.SecureRandom;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -15,11 +17,10 @@ import lombok.RequiredArgsConstructor;
  */
 @RequiredArgsConstructor
 public class ModifierFactory {
-    private final Modifier nonIdealMazeModifier = createNonIdealMazeModifier();
-    private final Modifier[] modifiers = {nonIdealMazeModifier};
+    private final List<Supplier<Modifier>> modifiers = List.of(this::createNonIdealMazeModifier);
 
     private final Maze maze;
-    private final SecureRandom random;
+    private final RandomGenerator random;
 
     public Modifier selectModifier(String modifier) {
         return switch (modifier) {
@@ -33,6 +34,6 @@ public class ModifierFactory {
     }
 
     private Modifier getRandomModifier() {
-        return modifiers[random.nextInt(modifiers.length)];
+        return modifiers.get(random.nextInt(modifiers.size())).get();
     }
 }
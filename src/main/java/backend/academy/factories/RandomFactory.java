@@ -0,0 +1,59 @@
+package backend.academy.factories;
+
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Factory class for creating random number generators.
+ * <p>
+ * The algorithm is chosen by name through {@link RandomGeneratorFactory}
+ * (for example {@code L64X128MixRandom} or {@code SplittableRandom}). Every generator
+ * is created from an explicit seed: either the configured one or a random seed that is
+ * logged, so any maze can be regenerated exactly.
+ */
+@Log4j2
+public class RandomFactory {
+    private final RandomGeneratorFactory<RandomGenerator> factory;
+    @Getter private final long seed;
+
+    /**
+     * Creates a factory for the given algorithm.
+     *
+     * @param algorithm the name of the algorithm known to {@link RandomGeneratorFactory}
+     * @param seed      the seed to use, or an empty value to pick a random one
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    public RandomFactory(String algorithm, OptionalLong seed) {
+        this.factory = RandomGeneratorFactory.of(algorithm);
+        this.seed = seed.orElseGet(() -> ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a new generator seeded with the seed of this factory.
+     *
+     * @return the seeded random number generator
+     */
+    public RandomGenerator create() {
+        log.info("Using {} random generator with seed {}", factory.name(), seed);
+        return factory.create(seed);
+    }
+
+    /**
+     * Creates an independent generator from the given one, so that work can be handed to another thread.
+     * Splittable generators are split, other generators seed a {@link SplittableRandom}.
+     * The result depends only on the state of the given generator.
+     *
+     * @param random the parent generator
+     * @return the new generator
+     */
+    public static RandomGenerator split(RandomGenerator random) {
+        return random instanceof RandomGenerator.SplittableGenerator splittable
+            ? splittable.split()
+            : new SplittableRandom(random.nextLong());
+    }
+}
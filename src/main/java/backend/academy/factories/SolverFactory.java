@@ -1,9 +1,18 @@
 package backend.academy.factories;
 
 import backend.academy.interfaces.Solver;
+import backend.academy.solvers.AStarSolver;
 import backend.academy.solvers.BFSSolver;
+import backend.academy.solvers.BidirectionalDijkstraSolver;
 import backend.academy.solvers.DFSSolver;
-import java.security.SecureRandom;
+import backend.academy.solvers.DeltaSteppingSolver;
+import backend.academy.solvers.DijkstraSolver;
+import backend.academy.solvers.JunctionGraphSolver;
+import backend.academy.solvers.LPAStarSolver;
+import backend.academy.solvers.ParallelBFSSolver;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -11,19 +20,37 @@ import lombok.RequiredArgsConstructor;
  * <p>
  * This class provides methods to select and instantiate different maze solvers
  * based on user input or randomly choose one from the available options.
+ * <p>
+ * The parallel BFS solver is only chosen by its number: it ignores the cost of the terrain,
+ * so a random choice could return a path that is not the cheapest one without asking for it.
  */
 @RequiredArgsConstructor
 public class SolverFactory {
-    private final Solver bfsSolver = createBFSSolver();
-    private final Solver dfsSolver = createDFSSolver();
-    private final Solver[] solvers = {bfsSolver, dfsSolver};
+    private final List<Supplier<Solver>> solvers = List.of(
+        this::createBFSSolver,
+        this::createDFSSolver,
+        this::createDijkstraSolver,
+        this::createAStarSolver,
+        this::createWeightedAStarSolver,
+        this::createBidirectionalDijkstraSolver,
+        this::createJunctionGraphSolver,
+        this::createDeltaSteppingSolver,
+        this::createLPAStarSolver);
 
-    private final SecureRandom random;
+    private final RandomGenerator random;
 
     public Solver selectSolver(String solver) {
         return switch (solver) {
             case "1" -> createBFSSolver();
             case "2" -> createDFSSolver();
+            case "3" -> createDijkstraSolver();
+            case "4" -> createAStarSolver();
+            case "5" -> createWeightedAStarSolver();
+            case "6" -> createBidirectionalDijkstraSolver();
+            case "7" -> createJunctionGraphSolver();
+            case "8" -> createParallelBFSSolver();
+            case "9" -> createDeltaSteppingSolver();
+            case "10" -> createLPAStarSolver();
             default -> getRandomSolver();
         };
     }
@@ -36,7 +63,39 @@ public class SolverFactory {
         return new DFSSolver();
     }
 
+    private Solver createDijkstraSolver() {
+        return new DijkstraSolver();
+    }
+
+    private Solver createAStarSolver() {
+        return new AStarSolver();
+    }
+
+    private Solver createWeightedAStarSolver() {
+        return new AStarSolver(AStarSolver.DEFAULT_WEIGHT);
+    }
+
+    private Solver createBidirectionalDijkstraSolver() {
+        return new BidirectionalDijkstraSolver();
+    }
+
+    private Solver createJunctionGraphSolver() {
+        return new JunctionGraphSolver();
+    }
+
+    private Solver createParallelBFSSolver() {
+        return new ParallelBFSSolver();
+    }
+
+    private Solver createDeltaSteppingSolver() {
+        return new DeltaSteppingSolver();
+    }
+
+    private Solver createLPAStarSolver() {
+        return new LPAStarSolver();
+    }
+
     private Solver getRandomSolver() {
-        return solvers[random.nextInt(solvers.length)];
+        return solvers.get(random.nextInt(solvers.size())).get();
     }
 }
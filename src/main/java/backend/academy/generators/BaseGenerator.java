@@ -1,33 +1,46 @@
 package backend.academy.generators;
 
 import backend.academy.entities.Cell;
-import backend.academy.entities.Coordinate;
 import backend.academy.entities.Maze;
+import backend.academy.entities.PackedGrid;
 import backend.academy.enums.Direction;
 import backend.academy.enums.Type;
 import backend.academy.interfaces.Generator;
-import java.security.SecureRandom;
+import backend.academy.interfaces.Grid;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
 /**
  * Base class for generating mazes.
  * This class provides fundamental methods for maze generation,
  * including grid initialization, cell setting, and random cell type generation.
+ * <p>
+ * Generators carving a spanning tree from the start point can record it: if the spanning tree
+ * is requested, {@link #treeParents()} holds the index of the parent of every passage cell
+ * after generation, the start cell is its own parent, and the other cells have no parent (-1).
+ * Recursive Backtracking and Prim record the tree by calling {@link #startTree()} before carving;
+ * generators that do not record the tree leave it null.
  */
 @RequiredArgsConstructor
 public class BaseGenerator implements Generator {
+    static final int TOTAL_WEIGHT = 100;
     private static final int NORMAL_WEIGHT = 60;
     private static final int OTHER_WEIGHT = 20;
-    private static final int TOTAL_WEIGHT = 100;
 
     protected int xWall;
     protected int yWall;
     protected int xPassage;
     protected int yPassage;
 
+    @Getter @Setter protected boolean spanningTree;
+    @Getter protected int[] treeParents;
+
     protected Cell startPoint;
-    protected Cell[][] grid;
-    protected final SecureRandom random;
+    protected Grid grid;
+    protected final RandomGenerator random;
 
     /**
      * Generates a maze with the specified height and width.
@@ -40,10 +53,24 @@ public class BaseGenerator implements Generator {
     public Maze generate(int height, int width) {
         fill(height, width);
         startPoint = selectStartPoint(height, width);
-        setCell(createRandomCell(startPoint.coordinate().row(), startPoint.coordinate().col()));
+        carve(startPoint.coordinate().row(), startPoint.coordinate().col());
+        treeParents = null;
         return new Maze(height, width, grid);
     }
 
+    /**
+     * Starts recording the spanning tree with the start point as its root if the tree is requested.
+     * Only generators that {@link #link(int, int)} every carved cell to its parent may call it.
+     */
+    protected void startTree() {
+        if (spanningTree) {
+            treeParents = new int[grid.size()];
+            Arrays.fill(treeParents, -1);
+            int start = grid.index(startPoint.coordinate().row(), startPoint.coordinate().col());
+            treeParents[start] = start;
+        }
+    }
+
     /**
      * Fills the grid with cells based on the specified height and width.
      *
@@ -52,11 +79,22 @@ public class BaseGenerator implements Generator {
      */
     @Override
     public void fill(int height, int width) {
-        grid = new Cell[height][width];
+        grid = new PackedGrid(height, width);
         for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                initializeCell(x, y, height, width);
-            }
+            fillRow(y, height, width);
+        }
+    }
+
+    /**
+     * Fills one row of the grid. Rows are independent, so they may be filled concurrently.
+     *
+     * @param y      The index of the row.
+     * @param height The height of the maze.
+     * @param width  The width of the maze.
+     */
+    protected void fillRow(int y, int height, int width) {
+        for (int x = 0; x < width; x++) {
+            initializeCell(x, y, height, width);
         }
     }
 
@@ -79,14 +117,12 @@ public class BaseGenerator implements Generator {
      * @param width  The total width of the maze.
      */
     private void initializeCell(int x, int y, int height, int width) {
-        Coordinate coordinate = new Coordinate(y, x);
-
         if (isPassage(x, y)) {
-            grid[y][x] = new Cell(coordinate, Type.DEFAULT);
+            grid.setType(y, x, Type.DEFAULT);
         } else if (isBoundary(x, y, height, width)) {
-            grid[y][x] = new Cell(coordinate, Type.BEDROCK);
+            grid.setType(y, x, Type.BEDROCK);
         } else {
-            grid[y][x] = new Cell(coordinate, Type.WALL);
+            grid.setType(y, x, Type.WALL);
         }
     }
 
@@ -120,13 +156,13 @@ public class BaseGenerator implements Generator {
     public Cell selectStartPoint(int height, int width) {
         int h = getRandomOdd(height - 2);
         int w = getRandomOdd(width - 2);
-        return grid[h][w];
+        return grid.cell(h, w);
     }
 
     /**
      * Sets the specified cell in the maze grid.
      * <p>
-     * This method updates the grid at the cell's coordinates with the provided cell instance.
+     * This method updates the grid at the cell's coordinates with the type of the provided cell.
      * It is used to change the type of the cell at a specific location in the maze,
      * allowing for modifications during maze generation or solving processes.
      * </p>
@@ -135,11 +171,29 @@ public class BaseGenerator implements Generator {
      */
     @Override
     public void setCell(Cell cell) {
-        grid[cell.coordinate().row()][cell.coordinate().col()] = cell;
+        grid.setCell(cell);
     }
 
-    public Cell createRandomCell(int row, int col) {
-        return new Cell(new Coordinate(row, col), getRandomCellType());
+    /**
+     * Turns the cell at the specified position into a passage of a random type.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     */
+    protected void carve(int row, int col) {
+        grid.setType(row, col, getRandomCellType());
+    }
+
+    /**
+     * Records the parent of a carved cell in the spanning tree if the tree is requested.
+     *
+     * @param cell   The index of the carved cell.
+     * @param parent The index of the cell it is connected to.
+     */
+    protected void link(int cell, int parent) {
+        if (treeParents != null) {
+            treeParents[cell] = parent;
+        }
     }
 
     /**
@@ -151,37 +205,92 @@ public class BaseGenerator implements Generator {
      */
     @Override
     public boolean checkPath(Cell point, Direction direction) {
-        calculateWallAndPassage(point, direction);
-        return grid[yWall][xWall].type() == Type.WALL && grid[yPassage][xPassage].type() == Type.DEFAULT;
+        return checkPath(point.coordinate().row(), point.coordinate().col(), direction);
+    }
+
+    /**
+     * Checks if there is a path from the cell at the specified position in the given direction.
+     *
+     * @param row       The row of the cell to check.
+     * @param col       The column of the cell to check.
+     * @param direction The direction to check.
+     * @return True if there is a path, false otherwise.
+     */
+    protected boolean checkPath(int row, int col, Direction direction) {
+        calculateWallAndPassage(row, col, direction);
+        return grid.type(yWall, xWall) == Type.WALL && grid.type(yPassage, xPassage) == Type.DEFAULT;
     }
 
     /**
      * Calculates the wall and passage coordinates based on the given point and direction.
      *
-     * @param point     The cell from which to calculate.
+     * @param row       The row of the cell from which to calculate.
+     * @param col       The column of the cell from which to calculate.
      * @param direction The direction to calculate.
      */
-    public void calculateWallAndPassage(Cell point, Direction direction) {
-        xWall = calculateCoordinate(point.coordinate(), direction, 1, false);
-        yWall = calculateCoordinate(point.coordinate(), direction, 1, true);
-        xPassage = calculateCoordinate(point.coordinate(), direction, 2, false);
-        yPassage = calculateCoordinate(point.coordinate(), direction, 2, true);
+    public void calculateWallAndPassage(int row, int col, Direction direction) {
+        xWall = calculateCoordinate(row, col, direction, 1, false);
+        yWall = calculateCoordinate(row, col, direction, 1, true);
+        xPassage = calculateCoordinate(row, col, direction, 2, false);
+        yPassage = calculateCoordinate(row, col, direction, 2, true);
     }
 
-    protected int calculateCoordinate(Coordinate point, Direction direction, int offset, boolean isRow) {
+    protected int calculateCoordinate(int row, int col, Direction direction, int offset, boolean isRow) {
         return switch (direction) {
-            case UP -> isRow ? point.row() - offset : point.col();
-            case DOWN -> isRow ? point.row() + offset : point.col();
-            case LEFT -> isRow ? point.row() : point.col() - offset;
-            case RIGHT -> isRow ? point.row() : point.col() + offset;
+            case UP -> isRow ? row - offset : col;
+            case DOWN -> isRow ? row + offset : col;
+            case LEFT -> isRow ? row : col - offset;
+            case RIGHT -> isRow ? row : col + offset;
         };
     }
 
-    private Type getRandomCellType() {
-        int randomNum = random.nextInt(TOTAL_WEIGHT);
-        if (randomNum < NORMAL_WEIGHT) {
+    /**
+     * Returns the number of rooms in the grid. Rooms are the cells with odd coordinates,
+     * which become passages of the maze, while the cells between them are walls.
+     *
+     * @return the number of rooms
+     */
+    protected int roomCount() {
+        return grid.width() / 2 * (grid.height() / 2);
+    }
+
+    /**
+     * Converts the position of a room to its number, counting rooms row by row.
+     *
+     * @param row The row of the room.
+     * @param col The column of the room.
+     * @return The number of the room.
+     */
+    protected int toRoom(int row, int col) {
+        return row / 2 * (grid.width() / 2) + col / 2;
+    }
+
+    /**
+     * Converts the number of a room to the index of its cell in the grid.
+     *
+     * @param room The number of the room.
+     * @return The index of the room cell.
+     */
+    protected int toCellIndex(int room) {
+        int roomsPerRow = grid.width() / 2;
+        return grid.index(room / roomsPerRow * 2 + 1, room % roomsPerRow * 2 + 1);
+    }
+
+    protected Type getRandomCellType() {
+        return cellType(random.nextInt(TOTAL_WEIGHT));
+    }
+
+    /**
+     * Maps a number from {@code [0, TOTAL_WEIGHT)} to a passage type with the weights
+     * used by {@link #getRandomCellType()}.
+     *
+     * @param weight the uniformly distributed number
+     * @return the passage type
+     */
+    static Type cellType(int weight) {
+        if (weight < NORMAL_WEIGHT) {
             return Type.NORMAL;
-        } else if (randomNum < NORMAL_WEIGHT + OTHER_WEIGHT) {
+        } else if (weight < NORMAL_WEIGHT + OTHER_WEIGHT) {
             return Type.ICE;
         } else {
             return Type.SAND;
@@ -0,0 +1,214 @@
+package backend.academy.generators;
+
+import backend.academy.entities.Maze;
+import backend.academy.entities.PackedGrid;
+import backend.academy.enums.Type;
+import backend.academy.interfaces.RowConsumer;
+import backend.academy.structures.DisjointSet;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Implementation of the Eller's algorithm for maze generation.
+ * This class extends the BaseGenerator.
+ * <p>
+ * The maze is built row by row: only the set labels of the rooms in the current row are kept,
+ * and every finished row is passed to a {@link RowConsumer}. The memory used by
+ * {@link #generate(int, int, RowConsumer)} depends only on the width of the maze, so mazes far
+ * bigger than the heap can be written straight to a file. The produced maze has the same
+ * layout as the one made by {@link #fill(int, int)}.
+ */
+public class EllerGenerator extends BaseGenerator {
+    private static final int NO_SET = -1;
+
+    private Type[] cells;
+    private int[] sets;
+    private int[] nextSets;
+    private boolean[] goesDown;
+    private boolean[] usedLabels;
+    private int[] downCount;
+    private int[] memberCount;
+    private int[] candidates;
+    private DisjointSet merges;
+
+    public EllerGenerator(RandomGenerator random) {
+        super(random);
+    }
+
+    @Override
+    public Maze generate(int height, int width) {
+        grid = new PackedGrid(height, width);
+        try {
+            generate(height, width, (row, rowCells) -> {
+                for (int col = 0; col < width; col++) {
+                    grid.setType(row, col, rowCells[col]);
+                }
+            });
+        } catch (IOException e) {
+            // Writing to the grid never throws IOException
+            throw new UncheckedIOException(e);
+        }
+        return new Maze(height, width, grid);
+    }
+
+    @Override
+    public void generate(int height, int width, RowConsumer consumer) throws IOException {
+        int rooms = (width - 1) / 2;
+        int roomRows = (height - 1) / 2;
+        init(width, rooms);
+
+        emitBoundaryRow(0, consumer);
+        for (int roomRow = 0; roomRow < roomRows; roomRow++) {
+            boolean isLast = roomRow == roomRows - 1;
+            assignNewSets(rooms);
+            emitRoomRow(2 * roomRow + 1, rooms, isLast, consumer);
+            if (!isLast) {
+                selectDownPassages(rooms);
+                emitWallRow(2 * roomRow + 2, rooms, consumer);
+                carrySetsDown(rooms);
+            }
+        }
+        // Rows left between the last room row and the border when the height is even
+        for (int row = 2 * roomRows + 1; row < height - 1; row++) {
+            emitWallRow(row, 0, consumer);
+        }
+        if (height > 1) {
+            emitBoundaryRow(height - 1, consumer);
+        }
+    }
+
+    private void init(int width, int rooms) {
+        cells = new Type[width];
+        sets = new int[rooms];
+        nextSets = new int[rooms];
+        goesDown = new boolean[rooms];
+        usedLabels = new boolean[rooms];
+        downCount = new int[rooms];
+        memberCount = new int[rooms];
+        candidates = new int[rooms];
+        merges = new DisjointSet(rooms);
+        Arrays.fill(sets, NO_SET);
+    }
+
+    /**
+     * Gives every room that is not connected to the row above a set of its own.
+     * There are never more sets than rooms, so labels are taken from the ones not in use.
+     *
+     * @param rooms the number of rooms in a row
+     */
+    private void assignNewSets(int rooms) {
+        Arrays.fill(usedLabels, false);
+        for (int i = 0; i < rooms; i++) {
+            if (sets[i] != NO_SET) {
+                usedLabels[sets[i]] = true;
+            }
+        }
+        int label = 0;
+        for (int i = 0; i < rooms; i++) {
+            if (sets[i] == NO_SET) {
+                while (usedLabels[label]) {
+                    label++;
+                }
+                usedLabels[label] = true;
+                sets[i] = label;
+            }
+        }
+    }
+
+    /**
+     * Emits a row of rooms, randomly joining neighbouring rooms from different sets.
+     * In the last row all neighbouring rooms from different sets are joined.
+     *
+     * @param row      the index of the row in the maze
+     * @param rooms    the number of rooms in a row
+     * @param isLast   true if this is the last row of rooms
+     * @param consumer the consumer of the finished rows
+     * @throws IOException if the consumer fails to write the row
+     */
+    private void emitRoomRow(int row, int rooms, boolean isLast, RowConsumer consumer) throws IOException {
+        resetRow();
+        merges.reset();
+        for (int i = 0; i < rooms; i++) {
+            cells[2 * i + 1] = getRandomCellType();
+            if (i + 1 < rooms) {
+                int left = merges.find(sets[i]);
+                int right = merges.find(sets[i + 1]);
+                if (left != right && (isLast || random.nextBoolean())) {
+                    merges.union(left, right);
+                    cells[2 * i + 2] = getRandomCellType();
+                }
+            }
+        }
+        for (int i = 0; i < rooms; i++) {
+            sets[i] = merges.find(sets[i]);
+        }
+        consumer.accept(row, cells);
+    }
+
+    /**
+     * Randomly selects the rooms connected to the next row, making sure that
+     * every set gets at least one connection down.
+     *
+     * @param rooms the number of rooms in a row
+     */
+    private void selectDownPassages(int rooms) {
+        Arrays.fill(downCount, 0);
+        Arrays.fill(memberCount, 0);
+        for (int i = 0; i < rooms; i++) {
+            int set = sets[i];
+            goesDown[i] = random.nextBoolean();
+            if (goesDown[i]) {
+                downCount[set]++;
+            }
+            // Reservoir sampling keeps a uniformly random member of every set
+            memberCount[set]++;
+            if (random.nextInt(memberCount[set]) == 0) {
+                candidates[set] = i;
+            }
+        }
+        for (int i = 0; i < rooms; i++) {
+            int set = sets[i];
+            if (downCount[set] == 0) {
+                goesDown[candidates[set]] = true;
+                downCount[set]++;
+            }
+        }
+    }
+
+    private void emitWallRow(int row, int rooms, RowConsumer consumer) throws IOException {
+        resetRow();
+        for (int i = 0; i < rooms; i++) {
+            if (goesDown[i]) {
+                cells[2 * i + 1] = getRandomCellType();
+            }
+        }
+        consumer.accept(row, cells);
+    }
+
+    private void carrySetsDown(int rooms) {
+        for (int i = 0; i < rooms; i++) {
+            nextSets[i] = goesDown[i] ? sets[i] : NO_SET;
+        }
+        int[] swap = sets;
+        sets = nextSets;
+        nextSets = swap;
+    }
+
+    private void emitBoundaryRow(int row, RowConsumer consumer) throws IOException {
+        Arrays.fill(cells, Type.BEDROCK);
+        consumer.accept(row, cells);
+    }
+
+    private void resetRow() {
+        Arrays.fill(cells, Type.WALL);
+        cells[0] = Type.BEDROCK;
+        cells[cells.length - 1] = Type.BEDROCK;
+    }
+
+    @Override
+    public String toString() {
+        return "EllerGenerator";
+    }
+}
@@ -0,0 +1,94 @@
+package backend.academy.generators;
+
+import backend.academy.entities.Maze;
+import backend.academy.enums.Type;
+import backend.academy.structures.DisjointSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Implementation of the Kruskal's algorithm for maze generation.
+ * This class extends the BaseGenerator.
+ * <p>
+ * Every wall between two rooms of the {@link #fill(int, int)} layout is an edge. Walls are
+ * processed in random order, and a wall is removed only if the rooms on its sides are not
+ * connected yet, which is tracked by a {@link DisjointSet} of rooms.
+ */
+public class KruskalGenerator extends BaseGenerator {
+    public KruskalGenerator(RandomGenerator random) {
+        super(random);
+    }
+
+    @Override
+    public Maze generate(int height, int width) {
+        super.generate(height, width);
+        start();
+        return new Maze(height, width, grid);
+    }
+
+    private void start() {
+        int[] walls = collectWalls();
+        DisjointSet rooms = new DisjointSet(roomCount());
+
+        // A spanning tree of the rooms needs exactly one wall less than there are rooms
+        int wallsToRemove = roomCount() - 1;
+        for (int i = 0; i < walls.length && wallsToRemove > 0; i++) {
+            // Take a random wall from the part of the list that is not processed yet
+            int j = i + random.nextInt(walls.length - i);
+            int wall = walls[j];
+            walls[j] = walls[i];
+
+            int row = grid.row(wall);
+            int col = grid.col(wall);
+            // Walls on odd rows separate rooms to the left and right, on even rows - above and below
+            boolean isVertical = row % 2 != 0;
+            int firstRow = isVertical ? row : row - 1;
+            int firstCol = isVertical ? col - 1 : col;
+            int secondRow = isVertical ? row : row + 1;
+            int secondCol = isVertical ? col + 1 : col;
+
+            if (rooms.union(toRoom(firstRow, firstCol), toRoom(secondRow, secondCol))) {
+                carve(row, col);
+                carveRoom(firstRow, firstCol);
+                carveRoom(secondRow, secondCol);
+                wallsToRemove--;
+            }
+        }
+    }
+
+    /**
+     * Collects indexes of all walls that separate two rooms.
+     *
+     * @return the array of wall indexes
+     */
+    private int[] collectWalls() {
+        int count = 0;
+        for (int index = 0; index < grid.size(); index++) {
+            if (isInnerWall(index)) {
+                count++;
+            }
+        }
+        int[] walls = new int[count];
+        for (int index = 0, i = 0; index < grid.size(); index++) {
+            if (isInnerWall(index)) {
+                walls[i++] = index;
+            }
+        }
+        return walls;
+    }
+
+    private boolean isInnerWall(int index) {
+        // Walls between rooms have exactly one odd coordinate, wall crossings have none
+        return grid.type(index) == Type.WALL && (grid.row(index) + grid.col(index)) % 2 != 0;
+    }
+
+    private void carveRoom(int row, int col) {
+        if (grid.type(row, col) == Type.DEFAULT) {
+            carve(row, col);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "KruskalGenerator";
+    }
+}
@@ -0,0 +1,190 @@
+package backend.academy.generators;
+
+import backend.academy.entities.Maze;
+import backend.academy.entities.PackedGrid;
+import backend.academy.factories.RandomFactory;
+import backend.academy.structures.DisjointSet;
+import java.io.Serial;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Generator that builds a maze in parallel on a {@link ForkJoinPool}.
+ * This class extends the BaseGenerator.
+ * <p>
+ * The rooms are split into square tiles. Every tile is generated independently by the
+ * Recursive Backtracking algorithm with its own random generator split from the main one,
+ * after which the tiles are stitched into one perfect maze: a random spanning tree over the
+ * tiles is built, and exactly one wall is removed on the border of every pair of tiles
+ * connected by the tree. Tiles and their generators do not depend on the number of threads,
+ * so the maze is the same for the same seed.
+ */
+public class ParallelTiledGenerator extends BaseGenerator {
+    public static final int DEFAULT_TILE_ROOMS = 128;
+
+    private final ForkJoinPool pool;
+    private final int tileRooms;
+
+    private int roomRows;
+    private int roomCols;
+    private int tileRows;
+    private int tileCols;
+    private RandomGenerator[] tileRandoms;
+
+    public ParallelTiledGenerator(RandomGenerator random) {
+        this(random, ForkJoinPool.commonPool(), DEFAULT_TILE_ROOMS);
+    }
+
+    /**
+     * Creates a generator that runs on the given pool.
+     *
+     * @param random    the main random generator
+     * @param pool      the pool generating the tiles
+     * @param tileRooms the number of rooms along each side of a tile
+     */
+    public ParallelTiledGenerator(RandomGenerator random, ForkJoinPool pool, int tileRooms) {
+        super(random);
+        if (tileRooms < 1) {
+            throw new IllegalArgumentException("Tile must contain at least one room, got " + tileRooms);
+        }
+        this.pool = pool;
+        this.tileRooms = tileRooms;
+    }
+
+    @Override
+    public Maze generate(int height, int width) {
+        fill(height, width);
+
+        roomRows = height / 2;
+        roomCols = width / 2;
+        tileRows = Math.ceilDiv(roomRows, tileRooms);
+        tileCols = Math.ceilDiv(roomCols, tileRooms);
+        tileRandoms = splitRandoms(tileRows * tileCols);
+
+        pool.invoke(new TileTask(0, tileRows * tileCols));
+        stitch();
+
+        tileRandoms = null;
+        return new Maze(height, width, grid);
+    }
+
+    /**
+     * Fills the grid with cells, processing rows in parallel.
+     *
+     * @param height The height of the maze.
+     * @param width  The width of the maze.
+     */
+    @Override
+    public void fill(int height, int width) {
+        grid = new PackedGrid(height, width);
+        pool.submit(() -> IntStream.range(0, height).parallel().forEach(y -> fillRow(y, height, width))).join();
+    }
+
+    /**
+     * Creates a random generator for every tile. Generators are created one after another
+     * in tile order, so they do not depend on how the tiles are scheduled.
+     *
+     * @param count the number of tiles
+     * @return the random generators of the tiles
+     */
+    private RandomGenerator[] splitRandoms(int count) {
+        RandomGenerator[] randoms = new RandomGenerator[count];
+        for (int tile = 0; tile < count; tile++) {
+            randoms[tile] = RandomFactory.split(random);
+        }
+        return randoms;
+    }
+
+    private void generateTile(int tile) {
+        int tileRow = tile / tileCols;
+        int tileCol = tile % tileCols;
+        int firstRoomRow = tileRow * tileRooms;
+        int firstRoomCol = tileCol * tileRooms;
+        int lastRoomRow = Math.min(roomRows, firstRoomRow + tileRooms) - 1;
+        int lastRoomCol = Math.min(roomCols, firstRoomCol + tileRooms) - 1;
+
+        new RecursiveBacktrackingGenerator(tileRandoms[tile]).generateRegion(grid,
+            2 * firstRoomRow + 1, 2 * firstRoomCol + 1, 2 * lastRoomRow + 1, 2 * lastRoomCol + 1);
+    }
+
+    /**
+     * Connects the tiles with a random spanning tree, removing one wall on the border
+     * of every pair of tiles joined by the tree. Border walls are encoded as
+     * {@code tile * 2} for the wall to the right of the tile and {@code tile * 2 + 1}
+     * for the wall below it.
+     */
+    private void stitch() {
+        int tileCount = tileRows * tileCols;
+        int[] borders = new int[2 * tileCount];
+        int borderCount = 0;
+        for (int tile = 0; tile < tileCount; tile++) {
+            if (tile % tileCols + 1 < tileCols) {
+                borders[borderCount++] = 2 * tile;
+            }
+            if (tile / tileCols + 1 < tileRows) {
+                borders[borderCount++] = 2 * tile + 1;
+            }
+        }
+
+        DisjointSet tiles = new DisjointSet(tileCount);
+        for (int i = 0; i < borderCount; i++) {
+            // Take a random border from the part of the list that is not processed yet
+            int j = i + random.nextInt(borderCount - i);
+            int border = borders[j];
+            borders[j] = borders[i];
+
+            int tile = border / 2;
+            boolean isRight = border % 2 == 0;
+            if (tiles.union(tile, isRight ? tile + 1 : tile + tileCols)) {
+                openBorder(tile, isRight);
+            }
+        }
+    }
+
+    private void openBorder(int tile, boolean isRight) {
+        int tileRow = tile / tileCols;
+        int tileCol = tile % tileCols;
+        if (isRight) {
+            int firstRoomRow = tileRow * tileRooms;
+            int roomRow = firstRoomRow + random.nextInt(Math.min(roomRows, firstRoomRow + tileRooms) - firstRoomRow);
+            carve(2 * roomRow + 1, 2 * (tileCol + 1) * tileRooms);
+        } else {
+            int firstRoomCol = tileCol * tileRooms;
+            int roomCol = firstRoomCol + random.nextInt(Math.min(roomCols, firstRoomCol + tileRooms) - firstRoomCol);
+            carve(2 * (tileRow + 1) * tileRooms, 2 * roomCol + 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelTiledGenerator";
+    }
+
+    /**
+     * Generates a range of tiles, splitting it in halves until a single tile is left.
+     */
+    private final class TileTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        private TileTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                generateTile(from);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TileTask(from, middle), new TileTask(middle, to));
+            }
+        }
+    }
+}
@@ -1,57 +1,63 @@
 package backend.academy.generators;
 
-import backend.academy.entities.Cell;
 import backend.academy.entities.Maze;
 import backend.academy.enums.Direction;
 import backend.academy.enums.Type;
-import java.security.SecureRandom;
-import java.util.ArrayList;
-import java.util.List;
+import backend.academy.structures.IndexedFrontier;
+import java.util.random.RandomGenerator;
 
 /**
  * Implementation of the Prim's algorithm for maze generation.
  * This class extends the BaseGenerator.
  * It generates a maze by starting from a random point and creating passages
  * between cells while ensuring that the maze is connected.
+ * <p>
+ * Border cells are kept in an {@link IndexedFrontier} keyed by the room number of the cell
+ * (rooms are the cells with odd coordinates), so every step takes constant time.
+ * The carved spanning tree is recorded if it is requested.
  */
 public class PrimGenerator extends BaseGenerator {
-    public PrimGenerator(SecureRandom random) {
+    private final int[] passages = new int[Direction.values().length];
+    private int passageCount;
+
+    public PrimGenerator(RandomGenerator random) {
         super(random);
     }
 
     @Override
     public Maze generate(int height, int width) {
         super.generate(height, width);
+        startTree();
         start();
         return new Maze(height, width, grid);
     }
 
     private void start() {
-        List<Cell> cells = new ArrayList<>();
-        List<Cell> passages = new ArrayList<>();
+        IndexedFrontier cells = new IndexedFrontier(roomCount());
 
-        Cell selectedCell = startPoint;
+        int selectedCell = grid.index(startPoint.coordinate().row(), startPoint.coordinate().col());
 
         do {
             collectCells(cells, selectedCell);
 
-            // Randomly select a cell from the collected cells
-            selectedCell = cells.get(random.nextInt(cells.size()));
-            setCell(createRandomCell(selectedCell.coordinate().row(), selectedCell.coordinate().col()));
+            // Randomly select a cell from the collected cells and remove it from the border
+            selectedCell = toCellIndex(cells.removeAt(random.nextInt(cells.size())));
+            int selectedRow = grid.row(selectedCell);
+            int selectedCol = grid.col(selectedCell);
+            carve(selectedRow, selectedCol);
 
-            collectPassages(passages, selectedCell);
+            collectPassages(selectedCell);
 
             // Randomly select a passage from the collected passages
-            Cell passage = passages.get(random.nextInt(passages.size()));
-            passages.clear();
+            int passage = passages[random.nextInt(passageCount)];
 
             // Calculate the wall coordinates to create a passage
-            xWall = selectedCell.coordinate().col() / 2 + passage.coordinate().col() / 2 + 1;
-            yWall = selectedCell.coordinate().row() / 2 + passage.coordinate().row() / 2 + 1;
-            setCell(createRandomCell(yWall, xWall));
-
-            cells.remove(selectedCell);
-            cells.remove(passage);
+            xWall = selectedCol / 2 + grid.col(passage) / 2 + 1;
+            yWall = selectedRow / 2 + grid.row(passage) / 2 + 1;
+            carve(yWall, xWall);
+            int wall = grid.index(yWall, xWall);
+            link(wall, passage);
+            link(selectedCell, wall);
 
         } while (!cells.isEmpty());
 
@@ -61,17 +67,15 @@ public class PrimGenerator extends BaseGenerator {
      * Collects neighboring cells of the selected cell that can be
      * added to the maze. Cells are added based on the paths available.
      *
-     * @param cells        the list to collect neighboring cells into.
-     * @param selectedCell the currently selected cell to check for neighbors.
+     * @param cells        the frontier to collect room numbers of neighboring cells into.
+     * @param selectedCell the index of the currently selected cell to check for neighbors.
      */
-    private void collectCells(List<Cell> cells, Cell selectedCell) {
+    private void collectCells(IndexedFrontier cells, int selectedCell) {
+        int row = grid.row(selectedCell);
+        int col = grid.col(selectedCell);
         for (Direction direction : Direction.values()) {
-            if (checkPath(grid[selectedCell.coordinate().row()][selectedCell.coordinate().col()], direction)) {
-                xPassage = calculateCoordinate(selectedCell.coordinate(), direction, 2, false);
-                yPassage = calculateCoordinate(selectedCell.coordinate(), direction, 2, true);
-                if (!cells.contains(grid[yPassage][xPassage])) {
-                    cells.add(grid[yPassage][xPassage]);
-                }
+            if (checkPath(row, col, direction)) {
+                cells.add(toRoom(yPassage, xPassage));
             }
         }
     }
@@ -80,16 +84,15 @@ public class PrimGenerator extends BaseGenerator {
      * Collects neighboring passages of the selected cell that can
      * be used to create new passage in the maze.
      *
-     * @param passages     the list to collect neighboring passages into.
-     * @param selectedCell the currently selected cell to check for passages.
+     * @param selectedCell the index of the currently selected cell to check for passages.
      */
-    private void collectPassages(List<Cell> passages, Cell selectedCell) {
+    private void collectPassages(int selectedCell) {
+        int row = grid.row(selectedCell);
+        int col = grid.col(selectedCell);
+        passageCount = 0;
         for (Direction direction : Direction.values()) {
-            if (checkIsPassage(grid[selectedCell.coordinate().row()][selectedCell.coordinate().col()], direction)) {
-
-                xPassage = calculateCoordinate(selectedCell.coordinate(), direction, 2, false);
-                yPassage = calculateCoordinate(selectedCell.coordinate(), direction, 2, true);
-                passages.add(grid[yPassage][xPassage]);
+            if (checkIsPassage(row, col, direction)) {
+                passages[passageCount++] = grid.index(yPassage, xPassage);
             }
         }
     }
@@ -97,17 +100,14 @@ public class PrimGenerator extends BaseGenerator {
     /**
      * Checks if the specified cell has a passage in the given direction.
      *
-     * @param point     the cell to check.
+     * @param row       the row of the cell to check.
+     * @param col       the column of the cell to check.
      * @param direction the direction to check for a passage.
      * @return true if there is a passage in the specified direction; false otherwise.
      */
-    private boolean checkIsPassage(Cell point, Direction direction) {
-        int localXWall = calculateCoordinate(point.coordinate(), direction, 1, false);
-        int localYWall = calculateCoordinate(point.coordinate(), direction, 1, true);
-        int localXPassage = calculateCoordinate(point.coordinate(), direction, 2, false);
-        int localYPassage = calculateCoordinate(point.coordinate(), direction, 2, true);
-        return grid[localYWall][localXWall].type() == Type.WALL
-            && grid[localYPassage][localXPassage].type() != Type.DEFAULT;
+    private boolean checkIsPassage(int row, int col, Direction direction) {
+        calculateWallAndPassage(row, col, direction);
+        return grid.type(yWall, xWall) == Type.WALL && grid.type(yPassage, xPassage) != Type.DEFAULT;
     }
 
     @Override
@@ -1,67 +1,148 @@
 package backend.academy.generators;
 
-import backend.academy.entities.Cell;
 import backend.academy.entities.Maze;
 import backend.academy.enums.Direction;
-import java.security.SecureRandom;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Deque;
-import java.util.List;
+import backend.academy.interfaces.Grid;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
 
 /**
  * Implementation of the Recursive Backtracking algorithm for maze generation.
  * This class extends the BaseGenerator.
+ * <p>
+ * The backtracking is iterative: the stack keeps cell indexes in a primitive array and
+ * the order in which directions are tried is taken from a precomputed table of all
+ * permutations of the four directions, so no objects are allocated per step.
+ * The carved spanning tree is recorded if it is requested.
  */
 public class RecursiveBacktrackingGenerator extends BaseGenerator {
-    public RecursiveBacktrackingGenerator(SecureRandom random) {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final Direction[][] PERMUTATIONS = createPermutations();
+    private static final int INITIAL_STACK_CAPACITY = 1024;
+
+    private int[] stack;
+    private int stackSize;
+
+    public RecursiveBacktrackingGenerator(RandomGenerator random) {
         super(random);
     }
 
     @Override
     public Maze generate(int height, int width) {
         super.generate(height, width);
-        start();
+        startTree();
+        start(startPoint.coordinate().row(), startPoint.coordinate().col(), 0, 0, height - 1, width - 1);
         return new Maze(height, width, grid);
     }
 
-    private void start() {
-        Deque<Cell> cells = new ArrayDeque<>();
+    /**
+     * Generates a perfect maze inside a rectangular region of an already filled grid.
+     * Passages are never carved across the borders of the region, so several regions
+     * of one grid can be generated at the same time by different generators.
+     *
+     * @param region the filled grid shared between generators
+     * @param top    the first row of rooms in the region
+     * @param left   the first column of rooms in the region
+     * @param bottom the last row of rooms in the region
+     * @param right  the last column of rooms in the region
+     */
+    void generateRegion(Grid region, int top, int left, int bottom, int right) {
+        grid = region;
+        int row = top + 2 * random.nextInt((bottom - top) / 2 + 1);
+        int col = left + 2 * random.nextInt((right - left) / 2 + 1);
+        carve(row, col);
+        start(row, col, top, left, bottom, right);
+    }
 
-        // Push the starting cell onto the stack
-        cells.push(grid[startPoint.coordinate().row()][startPoint.coordinate().col()]);
+    private void start(int startRow, int startCol, int top, int left, int bottom, int right) {
+        stack = new int[INITIAL_STACK_CAPACITY];
+        stackSize = 0;
 
-        // Continue until there are no more cells to process
-        while (!cells.isEmpty()) {
-            Cell top = cells.peek();
-            Direction direction = selectDirection(top);
+        // Push the index of the starting cell onto the stack
+        push(grid.index(startRow, startCol));
 
-            // If a valid direction is found
-            if (direction != null) {
-                calculateWallAndPassage(top, direction);
+        // Continue until there are no more cells to process
+        while (stackSize > 0) {
+            int current = stack[stackSize - 1];
+            int row = grid.row(current);
+            int col = grid.col(current);
 
+            // If a valid direction is found, wall and passage coordinates are already calculated
+            if (selectDirection(row, col, top, left, bottom, right) != null) {
                 // Create a wall and passage
-                setCell(createRandomCell(yWall, xWall));
-                setCell(createRandomCell(yPassage, xPassage));
+                carve(yWall, xWall);
+                carve(yPassage, xPassage);
+                int wall = grid.index(yWall, xWall);
+                int passage = grid.index(yPassage, xPassage);
+                link(wall, current);
+                link(passage, wall);
 
                 // Push the new cell onto the stack
-                cells.push(grid[yPassage][xPassage]);
+                push(passage);
             } else {
                 // Backtrack if no valid directions are left
-                cells.pop();
+                stackSize--;
+            }
+        }
+        stack = null;
+    }
+
+    /**
+     * Selects a random direction in which a new passage can be carved.
+     * On success the wall and passage coordinates of the selected direction are left calculated.
+     *
+     * @param row    the row of the current cell
+     * @param col    the column of the current cell
+     * @param top    the first row where passages may be carved
+     * @param left   the first column where passages may be carved
+     * @param bottom the last row where passages may be carved
+     * @param right  the last column where passages may be carved
+     * @return the selected direction, or null if all neighbours are already part of the maze
+     */
+    private Direction selectDirection(int row, int col, int top, int left, int bottom, int right) {
+        for (Direction direction : PERMUTATIONS[random.nextInt(PERMUTATIONS.length)]) {
+            // Check the region first: cells outside of it may be carved by another generator right now
+            calculateWallAndPassage(row, col, direction);
+            if (top <= yPassage && yPassage <= bottom && left <= xPassage && xPassage <= right
+                && checkPath(row, col, direction)) {
+                return direction;
             }
         }
+        return null;
     }
 
-    private Direction selectDirection(Cell point) {
-        List<Direction> paths = new ArrayList<>(List.of(Direction.values()));
-        Collections.shuffle(paths, random);
+    private void push(int index) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = index;
+    }
 
-        return paths.stream()
-            .filter(direction -> checkPath(point, direction))
-            .findFirst()
-            .orElse(null);
+    /**
+     * Builds the table of all 24 orders in which the four directions can be tried.
+     *
+     * @return the array of direction permutations
+     */
+    private static Direction[][] createPermutations() {
+        int count = 1;
+        for (int i = 2; i <= DIRECTIONS.length; i++) {
+            count *= i;
+        }
+        Direction[][] permutations = new Direction[count][];
+        for (int p = 0; p < count; p++) {
+            // Decode the permutation number in the factorial number system
+            Direction[] remaining = DIRECTIONS.clone();
+            Direction[] permutation = new Direction[DIRECTIONS.length];
+            int code = p;
+            for (int i = 0, left = DIRECTIONS.length; i < permutation.length; i++, left--) {
+                int pick = code % left;
+                code /= left;
+                permutation[i] = remaining[pick];
+                remaining[pick] = remaining[left - 1];
+            }
+            permutations[p] = permutation;
+        }
+        return permutations;
     }
 
     @Override
@@ -0,0 +1,30 @@
+package backend.academy.generators;
+
+import backend.academy.entities.Maze;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generator that creates procedural Sidewinder mazes.
+ * This class extends the BaseGenerator.
+ * <p>
+ * Nothing is carved in advance: the maze is backed by a {@link SidewinderGrid} that computes
+ * every cell from a seed taken from the random generator, so generation takes constant time
+ * and memory for any size of the maze.
+ */
+public class SidewinderGenerator extends BaseGenerator {
+
+    public SidewinderGenerator(RandomGenerator random) {
+        super(random);
+    }
+
+    @Override
+    public Maze generate(int height, int width) {
+        grid = new SidewinderGrid(height, width, random.nextLong());
+        return new Maze(height, width, grid);
+    }
+
+    @Override
+    public String toString() {
+        return "SidewinderGenerator";
+    }
+}
@@ -0,0 +1,138 @@
+package backend.academy.generators;
+
+import backend.academy.enums.Type;
+import backend.academy.interfaces.Grid;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Grid of a Sidewinder maze whose cells are computed on demand instead of being stored.
+ * <p>
+ * Every decision of the Sidewinder algorithm is taken from a hash of the seed and the
+ * coordinates of a room, so the type of any cell can be computed locally:
+ * <ul>
+ *     <li>the top row of rooms is one long corridor;</li>
+ *     <li>in every other row each room randomly either opens the passage to the east
+ *     or closes the current run of rooms;</li>
+ *     <li>every closed run opens exactly one passage to the north from a random room of the run.</li>
+ * </ul>
+ * Computing a cell costs the length of one run of rooms, which is 2 on average, and the grid
+ * itself takes constant memory. Cells changed through {@link #setType(int, Type)} are kept in
+ * a map, so only the changed cells cost memory. The grid is not safe for concurrent modification.
+ */
+public class SidewinderGrid implements Grid {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long MIX_MULTIPLIER_1 = 0xBF58476D1CE4E5B9L;
+    private static final long MIX_MULTIPLIER_2 = 0x94D049BB133111EBL;
+    private static final int MIX_SHIFT_1 = 30;
+    private static final int MIX_SHIFT_2 = 27;
+    private static final int MIX_SHIFT_3 = 31;
+
+    @Getter private final int height;
+    @Getter private final int width;
+    private final int roomCols;
+    private final long typeSeed;
+    private final long closeSeed;
+    private final long northSeed;
+    private final Map<Integer, Type> changes = new HashMap<>();
+    @Getter private long modificationCount;
+
+    /**
+     * Creates the grid of a maze.
+     *
+     * @param height the height of the maze
+     * @param width  the width of the maze
+     * @param seed   the seed that defines the maze
+     */
+    public SidewinderGrid(int height, int width, long seed) {
+        // Cells are addressed by int indexes, so the maze must fit into them
+        Math.multiplyExact(height, width);
+        this.height = height;
+        this.width = width;
+        this.roomCols = width / 2;
+        this.typeSeed = mix(seed);
+        this.closeSeed = mix(seed + GOLDEN_GAMMA);
+        this.northSeed = mix(seed + 2 * GOLDEN_GAMMA);
+    }
+
+    @Override
+    public Type type(int index) {
+        if (!changes.isEmpty()) {
+            Type changed = changes.get(index);
+            if (changed != null) {
+                return changed;
+            }
+        }
+        return computeType(row(index), col(index));
+    }
+
+    @Override
+    public void setType(int index, Type type) {
+        modificationCount++;
+        if (type == computeType(row(index), col(index))) {
+            changes.remove(index);
+        } else {
+            changes.put(index, type);
+        }
+    }
+
+    private Type computeType(int row, int col) {
+        if (row == 0 || col == 0 || row == height - 1 || col == width - 1) {
+            return Type.BEDROCK;
+        }
+        boolean isOddRow = row % 2 != 0;
+        boolean isOddCol = col % 2 != 0;
+        if (isOddRow && isOddCol) {
+            return passageType(row, col);
+        } else if (isOddRow) {
+            // The wall between two rooms of one row
+            return isEastOpen(row / 2, col / 2 - 1) ? passageType(row, col) : Type.WALL;
+        } else if (isOddCol) {
+            // The wall between a room and the room above it
+            return isNorthOpen(row / 2, col / 2) ? passageType(row, col) : Type.WALL;
+        }
+        return Type.WALL;
+    }
+
+    private Type passageType(int row, int col) {
+        return BaseGenerator.cellType(Math.floorMod(hash(typeSeed, row, col), BaseGenerator.TOTAL_WEIGHT));
+    }
+
+    private boolean isEastOpen(int roomRow, int roomCol) {
+        return roomRow == 0 || !closesRun(roomRow, roomCol);
+    }
+
+    private boolean isNorthOpen(int roomRow, int roomCol) {
+        int runStart = roomCol;
+        while (runStart > 0 && !closesRun(roomRow, runStart - 1)) {
+            runStart--;
+        }
+        int runEnd = roomCol;
+        while (!closesRun(roomRow, runEnd)) {
+            runEnd++;
+        }
+        int runLength = runEnd - runStart + 1;
+        return runStart + Math.floorMod(hash(northSeed, roomRow, runStart), runLength) == roomCol;
+    }
+
+    private boolean closesRun(int roomRow, int roomCol) {
+        return roomCol == roomCols - 1 || hash(closeSeed, roomRow, roomCol) < 0;
+    }
+
+    private static long hash(long seed, int row, int col) {
+        return mix(seed + mix((long) row << Integer.SIZE | col));
+    }
+
+    /**
+     * Mixes the bits of a value with the finalizer of the SplitMix64 generator.
+     *
+     * @param value the value to mix
+     * @return the mixed value
+     */
+    private static long mix(long value) {
+        long z = (value ^ (value >>> MIX_SHIFT_1)) * MIX_MULTIPLIER_1;
+        z = (z ^ (z >>> MIX_SHIFT_2)) * MIX_MULTIPLIER_2;
+        return z ^ (z >>> MIX_SHIFT_3);
+    }
+}
@@ -3,10 +3,34 @@ package backend.academy.interfaces;
 import backend.academy.entities.Cell;
 import backend.academy.entities.Maze;
 import backend.academy.enums.Direction;
+import backend.academy.enums.Type;
+import java.io.IOException;
 
 public interface Generator {
     Maze generate(int height, int width);
 
+    /**
+     * Generates a maze and passes it to the consumer row by row.
+     * <p>
+     * By default the whole maze is generated first. Generators that build the maze row by row
+     * override this method to keep only a few rows in memory.
+     *
+     * @param height   the height of the maze
+     * @param width    the width of the maze
+     * @param consumer the consumer of the finished rows
+     * @throws IOException if the consumer fails to write a row
+     */
+    default void generate(int height, int width, RowConsumer consumer) throws IOException {
+        Grid grid = generate(height, width).grid();
+        Type[] cells = new Type[width];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                cells[col] = grid.type(row, col);
+            }
+            consumer.accept(row, cells);
+        }
+    }
+
     void fill(int height, int width);
 
     Cell selectStartPoint(int height, int width);
@@ -0,0 +1,81 @@
+package backend.academy.interfaces;
+
+import backend.academy.entities.Cell;
+import backend.academy.entities.Coordinate;
+import backend.academy.enums.Direction;
+import backend.academy.enums.Type;
+
+/**
+ * Storage of the maze cells.
+ * <p>
+ * Cells are addressed either by row and column or by a flat row-major index
+ * ({@code row * width + col}). {@link Cell} and {@link Coordinate} objects are
+ * created only on demand, so algorithms are expected to work with indexes.
+ */
+public interface Grid {
+    int height();
+
+    int width();
+
+    Type type(int index);
+
+    void setType(int index, Type type);
+
+    /**
+     * Returns the number of changes made to the grid so far. Anything computed from the grid, such as
+     * a graph of its corridors, stays valid while this number is the same. Changes made by several
+     * threads at once may be counted only partly, so the number should be compared between searches.
+     *
+     * @return the number of calls of {@link #setType(int, Type)}
+     */
+    long modificationCount();
+
+    default int size() {
+        return height() * width();
+    }
+
+    default int index(int row, int col) {
+        return row * width() + col;
+    }
+
+    default int row(int index) {
+        return index / width();
+    }
+
+    default int col(int index) {
+        return index % width();
+    }
+
+    /**
+     * Returns the index of the neighbouring cell in the given direction.
+     *
+     * @param index     the index of the current cell
+     * @param direction the direction of the neighbour
+     * @return the index of the neighbour, or -1 if it is outside of the grid
+     */
+    default int neighbour(int index, Direction direction) {
+        int width = width();
+        return switch (direction) {
+            case UP -> index >= width ? index - width : -1;
+            case DOWN -> index < size() - width ? index + width : -1;
+            case LEFT -> index % width > 0 ? index - 1 : -1;
+            case RIGHT -> index % width < width - 1 ? index + 1 : -1;
+        };
+    }
+
+    default Type type(int row, int col) {
+        return type(index(row, col));
+    }
+
+    default void setType(int row, int col, Type type) {
+        setType(index(row, col), type);
+    }
+
+    default Cell cell(int row, int col) {
+        return new Cell(new Coordinate(row, col), type(row, col));
+    }
+
+    default void setCell(Cell cell) {
+        setType(cell.coordinate().row(), cell.coordinate().col(), cell.type());
+    }
+}
@@ -0,0 +1,19 @@
+package backend.academy.interfaces;
+
+import backend.academy.enums.Type;
+import java.io.IOException;
+
+/**
+ * Receives the rows of a maze one by one, from top to bottom.
+ */
+@FunctionalInterface
+public interface RowConsumer {
+    /**
+     * Accepts the next row of the maze.
+     *
+     * @param row   the index of the row
+     * @param cells the types of the cells in the row; the array may be reused for the next row
+     * @throws IOException if the row cannot be written
+     */
+    void accept(int row, Type[] cells) throws IOException;
+}
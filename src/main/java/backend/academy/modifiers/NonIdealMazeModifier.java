@@ -1,21 +1,24 @@
 package backend.academy.modifiers;
 
-import backend.academy.entities.Cell;
 import backend.academy.entities.Coordinate;
 import backend.academy.entities.Maze;
 import backend.academy.enums.Type;
+import backend.academy.interfaces.Grid;
 import backend.academy.interfaces.Modifier;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.security.SecureRandom;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.random.RandomGenerator;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 /**
  * Class that implements a modifier to alter the maze by deleting some walls,
  * creating a non-ideal maze configuration.
+ * <p>
+ * The cells changed by the last modification are kept in an unmodifiable list, so a search over
+ * the maze can be repaired instead of repeated, see {@link backend.academy.solvers.LPAStarSolver}.
  */
 @RequiredArgsConstructor
 public class NonIdealMazeModifier implements Modifier {
@@ -23,8 +26,9 @@ public class NonIdealMazeModifier implements Modifier {
     private static final int OTHER_WEIGHT = 20;  // Weight for other cell types
     private static final int TOTAL_WEIGHT = 100;  // Total weight for random selection
     private static final BigDecimal WALL_DELETION_FACTOR = new BigDecimal("0.05"); // Percentage of walls to delete
-    private final Cell[][] grid;
-    private final SecureRandom random;
+    private final Grid grid;
+    private final RandomGenerator random;
+    @Getter private List<Coordinate> changedCells = List.of();
 
     @Override
     public Maze modify(int height, int width) {
@@ -33,29 +37,39 @@ public class NonIdealMazeModifier implements Modifier {
     }
 
     private void deleteSomeWalls(int height, int width) {
-        List<Coordinate> wallCoordinates = new ArrayList<>();
+        int size = height * width;
 
-        // Collect coordinates of all wall cells
-        for (int h = 0; h < height; h++) {
-            for (int w = 0; w < width; w++) {
-                if (grid[h][w].type() == Type.WALL) {
-                    wallCoordinates.add(new Coordinate(h, w));
-                }
+        // Count wall cells to allocate the index array of the exact size
+        int wallCount = 0;
+        for (int index = 0; index < size; index++) {
+            if (grid.type(index) == Type.WALL) {
+                wallCount++;
             }
         }
 
-        // Shuffle wall coordinates to randomize wall deletion
-        Collections.shuffle(wallCoordinates, random);
+        // Collect indexes of all wall cells
+        int[] walls = new int[wallCount];
+        for (int index = 0, i = 0; index < size; index++) {
+            if (grid.type(index) == Type.WALL) {
+                walls[i++] = index;
+            }
+        }
 
         // Calculate the number of walls to delete
-        BigDecimal size = new BigDecimal(wallCoordinates.size());
-        int wallsToDelete = size.multiply(WALL_DELETION_FACTOR).setScale(0, RoundingMode.CEILING).intValue();
+        BigDecimal wallsSize = new BigDecimal(wallCount);
+        int wallsToDelete = wallsSize.multiply(WALL_DELETION_FACTOR).setScale(0, RoundingMode.CEILING).intValue();
 
-        // Delete walls and replace with random cell types
-        for (int i = 0; i < wallsToDelete && i < wallCoordinates.size(); i++) {
-            Coordinate coordinate = wallCoordinates.get(i);
-            grid[coordinate.row()][coordinate.col()] = new Cell(coordinate, getRandomCellType());
+        // Delete randomly chosen walls and replace with random cell types
+        List<Coordinate> changed = new ArrayList<>(wallsToDelete);
+        for (int i = 0; i < wallsToDelete && i < wallCount; i++) {
+            // Partial Fisher-Yates shuffle: only the walls that are actually deleted get shuffled
+            int j = i + random.nextInt(wallCount - i);
+            int wall = walls[j];
+            walls[j] = walls[i];
+            grid.setType(wall, getRandomCellType());
+            changed.add(new Coordinate(grid.row(wall), grid.col(wall)));
         }
+        changedCells = List.copyOf(changed);
     }
 
     /**
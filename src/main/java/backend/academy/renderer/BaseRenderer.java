@@ -1,11 +1,14 @@
 package backend.academy.renderer;
 
-import backend.academy.entities.Cell;
 import backend.academy.entities.Coordinate;
 import backend.academy.entities.Maze;
 import backend.academy.enums.Color;
 import backend.academy.enums.Type;
+import backend.academy.interfaces.Grid;
 import backend.academy.interfaces.Renderer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.BitSet;
 import java.util.List;
 import static backend.academy.enums.Color.BLACK;
 import static backend.academy.enums.Color.CYAN;
@@ -42,54 +45,104 @@ public class BaseRenderer implements Renderer {
      * @return a StringBuilder containing the rendered maze with the path
      */
     public StringBuilder render(Maze maze, List<Coordinate> path) {
+        StringBuilder result = new StringBuilder();
+        try {
+            render(maze, path, result);
+        } catch (IOException e) {
+            // StringBuilder never throws IOException
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    /**
+     * Renders the maze with a specified path row by row into the given output.
+     * <p>
+     * Nothing but the path is buffered, so mazes whose rendering does not fit into
+     * a single {@link StringBuilder} can be written directly to a file or a console.
+     * </p>
+     *
+     * @param maze the maze to be rendered
+     * @param path a list of coordinates representing the path through the maze, or null
+     * @param out  the output to append the rendered maze to
+     * @throws IOException if the output cannot be written
+     */
+    public void render(Maze maze, List<Coordinate> path, Appendable out) throws IOException {
         // Check if a path is provided and is empty
         if (path != null && path.isEmpty()) {
-            return new StringBuilder("NO PATH FOUND");
+            out.append("NO PATH FOUND");
+            return;
+        }
+        Grid grid = maze.grid();
+        BitSet pathCells = new BitSet();
+        int start = -1;
+        int end = -1;
+        if (path != null) {
+            for (Coordinate coordinate : path) {
+                pathCells.set(grid.index(coordinate.row(), coordinate.col()));
+            }
+            start = grid.index(path.getFirst().row(), path.getFirst().col()); // Get start index
+            end = grid.index(path.getLast().row(), path.getLast().col()); // Get end index
         }
-        StringBuilder result = new StringBuilder();
-        Coordinate start = path != null ? path.getFirst() : null; // Get start coordinate
-        Coordinate end = path != null ? path.getLast() : null; // Get end coordinate
 
-        for (Cell[] cells : maze.grid()) {
-            for (Cell cell : cells) {
-                boolean isOnPath = path != null && path.contains(cell.coordinate());
-                if (isOnPath && cell.coordinate().equals(start)) {
+        for (int row = 0; row < grid.height(); row++) {
+            for (int col = 0; col < grid.width(); col++) {
+                int index = grid.index(row, col);
+                boolean isOnPath = pathCells.get(index);
+                if (isOnPath && index == start) {
                     // Render start cell
-                    renderCell(result, Type.START);
-                } else if (isOnPath && cell.coordinate().equals(end)) {
+                    renderCell(out, Type.START);
+                } else if (isOnPath && index == end) {
                     // Render end cell
-                    renderCell(result, Type.END);
+                    renderCell(out, Type.END);
                 } else {
                     // Render normal cell
-                    renderCell(result, cell, isOnPath);
+                    renderCell(out, grid.type(index), isOnPath);
                 }
             }
-            result.append('\n'); // New line after each row of the maze
+            out.append('\n'); // New line after each row of the maze
         }
-        return result;
+    }
+
+    /**
+     * Renders a single row of a maze without a path. Together with
+     * {@link backend.academy.interfaces.Generator#generate(int, int, backend.academy.interfaces.RowConsumer)}
+     * it allows rendering a maze that is never stored in memory as a whole.
+     *
+     * @param cells the types of the cells in the row
+     * @param out   the output to append the rendered row to
+     * @throws IOException if the output cannot be written
+     */
+    public void renderRow(Type[] cells, Appendable out) throws IOException {
+        for (Type type : cells) {
+            renderCell(out, type, false);
+        }
+        out.append('\n');
     }
 
     /**
      * Renders a specific cell based on its type and whether it is part of the path.
      *
-     * @param result   the StringBuilder to append the rendered cell to
-     * @param cell     the Cell to be rendered
+     * @param out      the output to append the rendered cell to
+     * @param type     the type of the cell to be rendered
      * @param isOnPath true if the cell is part of the path, false otherwise
+     * @throws IOException if the output cannot be written
      */
-    private void renderCell(StringBuilder result, Cell cell, boolean isOnPath) {
-        String color = getColor(cell.type(), isOnPath).colorCode();
-        result.append(color).append(RECTANGLE).append(RECTANGLE).append(RESET);
+    private void renderCell(Appendable out, Type type, boolean isOnPath) throws IOException {
+        String color = getColor(type, isOnPath).colorCode();
+        out.append(color).append(RECTANGLE).append(RECTANGLE).append(RESET.colorCode());
     }
 
     /**
      * Renders a special type of cell (START or END) with a specific color.
      *
-     * @param result     the StringBuilder to append the rendered cell to
+     * @param out         the output to append the rendered cell to
      * @param specialType the special Type (START or END) to be rendered
+     * @throws IOException if the output cannot be written
      */
-    private void renderCell(StringBuilder result, Type specialType) {
+    private void renderCell(Appendable out, Type specialType) throws IOException {
         String color = getSpecialColor(specialType).colorCode();
-        result.append(color).append(RECTANGLE).append(RECTANGLE).append(RESET);
+        out.append(color).append(RECTANGLE).append(RECTANGLE).append(RESET.colorCode());
     }
 
     private Color getColor(Type type, boolean isOnPath) {
@@ -0,0 +1,120 @@
+package backend.academy.services;
+
+import backend.academy.entities.BatchReport;
+import backend.academy.entities.Maze;
+import backend.academy.factories.GeneratorFactory;
+import backend.academy.factories.RandomFactory;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjIntConsumer;
+import java.util.random.RandomGenerator;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * BatchService generates many mazes of the same size concurrently.
+ * <p>
+ * Generators keep the state of a run in their fields, so every maze is generated by its own
+ * generator instance with its own random generator split from the main one. Random generators
+ * are split in the order of maze indexes, so a maze with a given index is the same for the same
+ * seed regardless of the executor. Only a limited number of mazes is generated ahead of the
+ * consumer, which bounds the memory used by a large batch.
+ * <p>
+ * A batch stops at the first failure: if a maze cannot be generated, the consumer throws or the
+ * calling thread is interrupted, the mazes still in flight are cancelled and no report is returned.
+ */
+@Log4j2
+public class BatchService {
+    private final ExecutorService executor;
+    private final RandomGenerator random;
+    private final int maxInFlight;
+
+    public BatchService(ExecutorService executor, RandomGenerator random) {
+        this(executor, random, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a service running on the given executor.
+     *
+     * @param executor    the executor generating the mazes, it is not closed by the service
+     * @param random      the main random generator
+     * @param maxInFlight the maximum number of mazes generated but not yet passed to the consumer
+     */
+    public BatchService(ExecutorService executor, RandomGenerator random, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("At least one maze must be in flight, got " + maxInFlight);
+        }
+        this.executor = executor;
+        this.random = random;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Generates a batch of mazes and passes each of them to the consumer as soon as it is ready.
+     * The consumer is called on the calling thread in the order of completion.
+     * On a failure the mazes still in flight are cancelled before the exception is thrown.
+     *
+     * @param count     the number of mazes
+     * @param height    the height of the mazes
+     * @param width     the width of the mazes
+     * @param generator the number of the generator as in {@link GeneratorFactory#selectGenerator(String)}
+     * @param consumer  receives every maze with its index in the batch
+     * @return the report with the throughput of the batch
+     * @throws InterruptedException if the calling thread is interrupted while waiting for a maze
+     * @throws IllegalStateException if the generation of a maze fails
+     */
+    public BatchReport generate(int count, int height, int width, String generator, ObjIntConsumer<Maze> consumer)
+        throws InterruptedException {
+        CompletionService<IndexedMaze> completion = new ExecutorCompletionService<>(executor);
+        Set<Future<IndexedMaze>> inFlight = new HashSet<>();
+        long startTime = System.nanoTime();
+
+        try {
+            int submitted = 0;
+            while (submitted < Math.min(count, maxInFlight)) {
+                inFlight.add(submit(completion, submitted++, height, width, generator));
+            }
+            for (int done = 0; done < count; done++) {
+                Future<IndexedMaze> future = completion.take();
+                inFlight.remove(future);
+                IndexedMaze result = get(future);
+                if (submitted < count) {
+                    inFlight.add(submit(completion, submitted++, height, width, generator));
+                }
+                consumer.accept(result.maze(), result.index());
+            }
+        } finally {
+            // Empty after a successful batch, otherwise nobody is waiting for these mazes anymore
+            inFlight.forEach(future -> future.cancel(true));
+        }
+
+        BatchReport report = new BatchReport(count, System.nanoTime() - startTime);
+        log.info("Generated {} mazes {}x{} in {} ms, {} mazes/s", count, height, width,
+            TimeUnit.NANOSECONDS.toMillis(report.elapsedNanos()), String.format("%.2f", report.mazesPerSecond()));
+        return report;
+    }
+
+    private Future<IndexedMaze> submit(CompletionService<IndexedMaze> completion, int index, int height, int width,
+        String generator) {
+        // The generator is created here, so the random generator is split in the order of indexes
+        GeneratorFactory factory = new GeneratorFactory(RandomFactory.split(random));
+        return completion.submit(
+            () -> new IndexedMaze(index, factory.selectGenerator(generator).generate(height, width)));
+    }
+
+    private IndexedMaze get(Future<IndexedMaze> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Maze generation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private record IndexedMaze(int index, Maze maze) {
+    }
+}
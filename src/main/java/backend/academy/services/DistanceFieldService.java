@@ -0,0 +1,139 @@
+package backend.academy.services;
+
+import backend.academy.entities.Coordinate;
+import backend.academy.entities.DistanceField;
+import backend.academy.entities.Maze;
+import backend.academy.solvers.BFSSolver;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+
+/**
+ * DistanceFieldService answers repeated path queries from the same source cell.
+ * <p>
+ * The first query from a source computes the full distance field of the maze from it,
+ * and the field is kept in a Caffeine cache, so every further query from that source
+ * restores the path in time proportional to its length. The cache is bounded by the total
+ * number of cells of the kept fields, and the least valuable fields are evicted first.
+ * A cached field also keeps its maze reachable, so every field is charged for the grid as well:
+ * a packed grid takes one byte per cell, an eighth of a field cell with its distance and link.
+ * A maze with several cached fields is charged for each of them, which only makes the bound stricter.
+ * <p>
+ * Mazes are matched by identity. Every field remembers the modification count of the grid it was
+ * computed on, and a field whose grid has been changed since then is computed anew on the next query,
+ * so a maze changed in place never gets stale answers. {@link #invalidate(Maze)} only frees the memory
+ * of the fields of a maze at once instead of waiting for their next query or eviction.
+ */
+public class DistanceFieldService {
+    /** The default total number of cells in the cached fields, about 128 MB of distances and links. */
+    public static final long DEFAULT_MAXIMUM_CELLS = 1L << 24;
+
+    /** The number of grid cells taking the memory of one field cell, an int distance and an int link. */
+    private static final int GRID_CELLS_PER_FIELD_CELL = 2 * Integer.BYTES;
+
+    private final Cache<FieldKey, CachedField> cache;
+
+    public DistanceFieldService() {
+        this(DEFAULT_MAXIMUM_CELLS);
+    }
+
+    /**
+     * Creates a service with a cache of the given capacity.
+     *
+     * @param maximumCells the maximum total number of cells in the cached fields, including the share of their grids
+     */
+    public DistanceFieldService(long maximumCells) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumCells)
+            .weigher(DistanceFieldService::weigh)
+            .build();
+    }
+
+    /**
+     * Returns the distance field of the source, computing it on the first query
+     * and again after the grid of the maze has been changed.
+     *
+     * @param maze   the maze
+     * @param source the source cell
+     * @return the distance field of the source
+     */
+    public DistanceField distanceField(Maze maze, Coordinate source) {
+        FieldKey key = new FieldKey(maze, source);
+        long modificationCount = maze.grid().modificationCount();
+        CachedField cached = cache.getIfPresent(key);
+        if (!isCurrent(cached, modificationCount)) {
+            // Another thread may have computed the field meanwhile, so the check is repeated atomically
+            cached = cache.asMap().compute(key, (unused, old) -> isCurrent(old, modificationCount)
+                ? old
+                : new CachedField(new BFSSolver().distanceField(maze, source), modificationCount));
+        }
+        return cached.field();
+    }
+
+    /**
+     * Finds the cheapest path between two cells.
+     *
+     * @param maze   the maze
+     * @param source the first cell of the path, the field of which is cached
+     * @param end    the last cell of the path
+     * @return the path from the source to the end, or an empty list if there is no path
+     */
+    public List<Coordinate> path(Maze maze, Coordinate source, Coordinate end) {
+        return distanceField(maze, source).path(end);
+    }
+
+    /**
+     * Finds the cost of the cheapest path between two cells.
+     *
+     * @param maze   the maze
+     * @param source the first cell of the path, the field of which is cached
+     * @param end    the last cell of the path
+     * @return the cost of the path, or {@link DistanceField#UNREACHED} if there is no path
+     */
+    public int distance(Maze maze, Coordinate source, Coordinate end) {
+        return distanceField(maze, source).distance(end);
+    }
+
+    /**
+     * Drops all cached fields of the maze. The fields of a changed maze are recomputed anyway,
+     * so this only frees their memory earlier.
+     *
+     * @param maze the changed maze
+     */
+    public void invalidate(Maze maze) {
+        cache.asMap().keySet().removeIf(key -> key.maze() == maze);
+    }
+
+    private static boolean isCurrent(CachedField cached, long modificationCount) {
+        return cached != null && cached.modificationCount() == modificationCount;
+    }
+
+    /**
+     * Weighs the field together with the grid of its maze, in field cells.
+     */
+    private static int weigh(FieldKey key, CachedField cached) {
+        long gridCells = key.maze().grid().size() / GRID_CELLS_PER_FIELD_CELL;
+        return (int) Math.min(Integer.MAX_VALUE, cached.field().size() + gridCells);
+    }
+
+    /**
+     * A field together with the modification count of the grid it was computed on.
+     */
+    private record CachedField(DistanceField field, long modificationCount) {
+    }
+
+    /**
+     * Identifies a field by the maze instance and the source cell.
+     */
+    private record FieldKey(Maze maze, Coordinate source) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof FieldKey key && key.maze == maze && key.source.equals(source);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(maze) + source.hashCode();
+        }
+    }
+}
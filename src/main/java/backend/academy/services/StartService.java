@@ -3,7 +3,6 @@ package backend.academy.services;
 import backend.academy.MainInterface;
 import backend.academy.entities.Coordinate;
 import backend.academy.entities.Maze;
-import backend.academy.enums.Type;
 import backend.academy.factories.GeneratorFactory;
 import backend.academy.factories.ModifierFactory;
 import backend.academy.factories.SolverFactory;
@@ -14,9 +13,8 @@ import backend.academy.renderer.BaseRenderer;
 import backend.academy.settings.Settings;
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.security.SecureRandom;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.random.RandomGenerator;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -26,10 +24,9 @@ import lombok.RequiredArgsConstructor;
  */
 @RequiredArgsConstructor
 public class StartService {
-    private static final List<Type> PASSABLE_TYPES = List.of(Type.NORMAL, Type.ICE, Type.SAND);
     private final BufferedReader reader;
     private final BaseRenderer renderer;
-    private final SecureRandom random;
+    private final RandomGenerator random;
     private final MainInterface mainInterface;
     private Maze maze;
 
@@ -72,13 +69,13 @@ public class StartService {
     private int getMazeWidth() throws IOException {
         mainInterface.chooseWidth();
         String w = getInput();
-        return checkSize(w, Settings.MIN_WIDTH, Settings.MAX_WIDTH);
+        return checkSize(w, Settings.MIN_WIDTH, Settings.maxWidth());
     }
 
     private int getMazeHeight() throws IOException {
         mainInterface.chooseHeight();
         String h = getInput();
-        return checkSize(h, Settings.MIN_HEIGHT, Settings.MAX_HEIGHT);
+        return checkSize(h, Settings.MIN_HEIGHT, Settings.maxHeight());
     }
 
     private Generator getMazeGenerator() throws IOException {
@@ -97,11 +94,10 @@ public class StartService {
         return solver;
     }
 
-    private void generateMaze(Generator generator, int height, int width) {
+    private void generateMaze(Generator generator, int height, int width) throws IOException {
         mainInterface.generateMaze();
         maze = generator.generate(height, width);
-        StringBuilder mazeString = renderer.render(maze);
-        mainInterface.showMaze(mazeString);
+        showMaze(null);
     }
 
     private boolean isModificationRequested() throws IOException {
@@ -119,9 +115,7 @@ public class StartService {
         mainInterface.modifyMaze();
 
         maze = modifier.modify(height, width);
-        StringBuilder mazeString = renderer.render(maze);
-
-        mainInterface.showMaze(mazeString);
+        showMaze(null);
     }
 
     /**
@@ -146,12 +140,27 @@ public class StartService {
         return new Coordinate(firstPointY, firstPointX);
     }
 
-    private void calculateAndShowPath(Solver solver, Coordinate firstPoint, Coordinate secondPoint) {
+    private void calculateAndShowPath(Solver solver, Coordinate firstPoint, Coordinate secondPoint)
+        throws IOException {
         mainInterface.calculatePath();
         List<Coordinate> path;
         path = solver.solve(maze, firstPoint, secondPoint);
-        StringBuilder mazeString = renderer.render(maze, path);
-        mainInterface.showMaze(mazeString);
+        showMaze(path);
+    }
+
+    /**
+     * Shows the current maze with the given path. In the large-maze mode the rendering
+     * is streamed to the output instead of being built in memory.
+     *
+     * @param path the path to be highlighted, or null to show the maze only
+     * @throws IOException if an input/output error occurs
+     */
+    private void showMaze(List<Coordinate> path) throws IOException {
+        if (Settings.isLargeMode()) {
+            mainInterface.streamMaze(renderer, maze, path);
+        } else {
+            mainInterface.showMaze(renderer.render(maze, path));
+        }
     }
 
     /**
@@ -228,12 +237,13 @@ public class StartService {
     }
 
     private boolean checkIsPassage(int y, int x) {
-        return PASSABLE_TYPES.contains(maze.grid()[y][x].type());
+        return maze.grid().type(y, x).isPassable();
     }
 
     private int selectRandomSize(int min, int max) {
-        int[] range = IntStream.rangeClosed(min, max).filter(n -> n % 2 != 0).toArray();
-        return range[random.nextInt(range.length)];
+        int firstOdd = min % 2 != 0 ? min : min + 1;
+        int oddCount = (max - firstOdd) / 2 + 1;
+        return firstOdd + 2 * random.nextInt(oddCount);
     }
 
     private Generator selectGenerator(String generator) {
@@ -1,11 +1,19 @@
 package backend.academy.settings;
 
+import java.util.OptionalLong;
 import lombok.experimental.UtilityClass;
 
 /**
  * Settings class holds the constants for maze dimensions.
  * These constants define the minimum and maximum allowable
  * heights and widths for the maze.
+ * <p>
+ * The maximum dimensions can be changed at runtime through system properties:
+ * {@code -Dmaze.large=true} switches to the large-maze mode with limits of
+ * {@link #LARGE_MAX_HEIGHT} x {@link #LARGE_MAX_WIDTH}, while
+ * {@code -Dmaze.max.height} and {@code -Dmaze.max.width} set the limits explicitly.
+ * The random number generator is configured with {@code -Dmaze.random} (an algorithm name
+ * known to {@link java.util.random.RandomGeneratorFactory}) and {@code -Dmaze.seed}.
  */
 @UtilityClass
 public class Settings {
@@ -13,4 +21,108 @@ public class Settings {
     public static final int MIN_WIDTH = 5;
     public static final int MAX_HEIGHT = 35;
     public static final int MAX_WIDTH = 35;
+
+    public static final int LARGE_MAX_HEIGHT = 10_001;
+    public static final int LARGE_MAX_WIDTH = 10_001;
+
+    public static final String LARGE_MODE_PROPERTY = "maze.large";
+    public static final String MAX_HEIGHT_PROPERTY = "maze.max.height";
+    public static final String MAX_WIDTH_PROPERTY = "maze.max.width";
+    public static final String RANDOM_ALGORITHM_PROPERTY = "maze.random";
+    public static final String SEED_PROPERTY = "maze.seed";
+
+    public static final String DEFAULT_RANDOM_ALGORITHM = "L64X128MixRandom";
+
+    /**
+     * Checks if the large-maze mode is enabled.
+     *
+     * @return true if the {@code maze.large} system property is set to true
+     */
+    public boolean isLargeMode() {
+        return Boolean.getBoolean(LARGE_MODE_PROPERTY);
+    }
+
+    /**
+     * Returns the maximum allowed height of the maze for the current configuration.
+     *
+     * @return the maximum height
+     * @throws IllegalArgumentException if {@code maze.max.height} is set to a malformed value
+     */
+    public int maxHeight() {
+        return readLimit(MAX_HEIGHT_PROPERTY, isLargeMode() ? LARGE_MAX_HEIGHT : MAX_HEIGHT, MIN_HEIGHT);
+    }
+
+    /**
+     * Returns the maximum allowed width of the maze for the current configuration.
+     *
+     * @return the maximum width
+     * @throws IllegalArgumentException if {@code maze.max.width} is set to a malformed value
+     */
+    public int maxWidth() {
+        return readLimit(MAX_WIDTH_PROPERTY, isLargeMode() ? LARGE_MAX_WIDTH : MAX_WIDTH, MIN_WIDTH);
+    }
+
+    /**
+     * Returns the name of the random number generator algorithm.
+     *
+     * @return the configured algorithm, {@link #DEFAULT_RANDOM_ALGORITHM} by default
+     */
+    public String randomAlgorithm() {
+        return System.getProperty(RANDOM_ALGORITHM_PROPERTY, DEFAULT_RANDOM_ALGORITHM);
+    }
+
+    /**
+     * Returns the seed of the random number generator.
+     *
+     * A seed that is set but is not a number is rejected rather than replaced by a random one,
+     * since a run with a typo in the seed could not be repeated.
+     *
+     * @return the configured seed, or an empty value if the seed is not set
+     * @throws IllegalArgumentException if the seed is not a number
+     */
+    public OptionalLong seed() {
+        String value = System.getProperty(SEED_PROPERTY);
+        if (value == null) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                "The " + SEED_PROPERTY + " property must be a whole number, got '" + value + "'", e);
+        }
+    }
+
+    /**
+     * Reads a dimension limit from the system property, or returns the default value if the property
+     * is not set. Like a malformed seed, a limit that is set but is not a number or is less than the
+     * minimum dimension is rejected rather than silently replaced by the default.
+     *
+     * @param property     the name of the system property
+     * @param defaultValue the limit used when the property is not set
+     * @param min          the minimum dimension of the maze
+     * @return the configured limit
+     * @throws IllegalArgumentException if the limit is not a whole number of at least {@code min}
+     */
+    private int readLimit(String property, int defaultValue, int min) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            return defaultValue;
+        }
+        int limit;
+        try {
+            limit = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw malformedLimit(property, min, value, e);
+        }
+        if (limit < min) {
+            throw malformedLimit(property, min, value, null);
+        }
+        return limit;
+    }
+
+    private IllegalArgumentException malformedLimit(String property, int min, String value, Throwable cause) {
+        return new IllegalArgumentException(
+            "The " + property + " property must be a whole number of at least " + min + ", got '" + value + "'", cause);
+    }
 }
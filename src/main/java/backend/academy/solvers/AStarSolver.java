@@ -0,0 +1,164 @@
+package backend.academy.solvers;
+
+import backend.academy.entities.Coordinate;
+import backend.academy.entities.Maze;
+import backend.academy.enums.Direction;
+import backend.academy.enums.Type;
+import backend.academy.interfaces.Solver;
+import backend.academy.structures.IndexedMinHeap;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Implements the A* algorithm to find the path of the lowest cost between two points.
+ * <p>
+ * The estimate of the remaining cost is the Manhattan distance to the end multiplied by the
+ * lowest cost of a passable cell ({@link Type#minPassableCost()}), so it never overestimates
+ * and the found path is optimal. The search stops as soon as no open cell can lead to a
+ * cheaper path.
+ * <p>
+ * Ice is free, so this estimate is zero: with the weight {@code 1} the solver expands cells in
+ * the same order as {@link DijkstraSolver} and stops at the same moment, which the menu states
+ * as well. The estimate only pays off if every passable type costs at least one.
+ * <p>
+ * Simply inflating a zero estimate, as weighted A* does, would change nothing. With a weight
+ * {@code w > 1} the solver works as optimistic search instead: cells are expanded in the order
+ * of weighted A* with the Manhattan distance counted in {@link Type#NORMAL} steps, which heads
+ * straight for the end, and once a path is found, cells are expanded in the order of the exact
+ * estimate until the path is proven to cost at most {@code w} times the optimal one.
+ */
+public class AStarSolver extends BaseSolver implements Solver {
+    public static final double DEFAULT_WEIGHT = 1.5;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final double weight;
+
+    private IndexedMinHeap open;
+    private IndexedMinHeap cleanup;
+    private int targetRow;
+    private int targetCol;
+    @Getter private int expandedCells;
+
+    public AStarSolver() {
+        this(1);
+    }
+
+    /**
+     * Creates a solver with the given bound of suboptimality.
+     *
+     * @param weight the factor by which the cost of the found path may exceed the optimal one,
+     *               {@code 1} for optimal paths
+     */
+    public AStarSolver(double weight) {
+        if (!(weight >= 1)) {
+            throw new IllegalArgumentException("Weight must be at least 1, got " + weight);
+        }
+        this.weight = weight;
+    }
+
+    @Override
+    public List<Coordinate> solve(Maze maze, Coordinate start, Coordinate end) {
+        init(maze);
+        int source = grid.index(start.row(), start.col());
+        int target = grid.index(end.row(), end.col());
+        targetRow = end.row();
+        targetCol = end.col();
+
+        fill(start);
+        search(source, target);
+        return restorePath(start, end);
+    }
+
+    @Override
+    public void init(Maze maze) {
+        super.init(maze);
+        open = workspace.heap(0);
+        cleanup = weight > 1 ? workspace.heap(1) : null;
+        expandedCells = 0;
+    }
+
+    /**
+     * Expands cells until the path to the end is good enough or no cells are left.
+     *
+     * @param source the index of the starting cell
+     * @param target the index of the end cell
+     */
+    private void search(int source, int target) {
+        addToOpen(source);
+
+        while (!open.isEmpty() && !isSolved(target)) {
+            int current = selectCurrent(target);
+            expandedCells++;
+            int distance = distance(current);
+
+            for (Direction direction : DIRECTIONS) {
+                int next = neighbour(current, direction);
+                if (next < 0) {
+                    continue;
+                }
+                Type type = grid.type(next);
+                int candidate = distance + type.type();
+                if (type.isPassable() && candidate < distance(next)) {
+                    // Expanded cells are opened again if a cheaper way to them is found
+                    reach(next, current, candidate);
+                    addToOpen(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the cost of the found path is within the bound: no open cell can lead to
+     * a path cheaper than the found one divided by the weight. If the full distance field
+     * is requested, the search never stops early.
+     *
+     * @param target the index of the end cell
+     * @return true if the search can stop
+     */
+    private boolean isSolved(int target) {
+        if (fullDistanceField) {
+            return false;
+        }
+        int lowerBound = cleanup == null ? open.peekPriority() : cleanup.peekPriority();
+        return distance(target) != UNREACHED && distance(target) <= weight * lowerBound;
+    }
+
+    private int selectCurrent(int target) {
+        if (cleanup == null) {
+            return open.poll();
+        }
+        int cell;
+        if (distance(target) == UNREACHED) {
+            cell = open.poll();
+            cleanup.remove(cell);
+        } else {
+            cell = cleanup.poll();
+            open.remove(cell);
+        }
+        return cell;
+    }
+
+    private void addToOpen(int cell) {
+        int distance = distance(cell);
+        if (cleanup == null) {
+            open.push(cell, distance + estimate(cell));
+        } else {
+            open.push(cell, distance + (int) (weight * manhattan(cell) * Type.NORMAL.type()));
+            cleanup.push(cell, distance + estimate(cell));
+        }
+    }
+
+    private int estimate(int cell) {
+        return manhattan(cell) * Type.minPassableCost();
+    }
+
+    private int manhattan(int cell) {
+        return Math.abs(grid.row(cell) - targetRow) + Math.abs(grid.col(cell) - targetCol);
+    }
+
+    @Override
+    public String toString() {
+        return weight > 1 ? "AStarSolver(weight=" + weight + ")" : "AStarSolver";
+    }
+}
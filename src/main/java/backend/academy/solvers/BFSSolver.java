@@ -1,59 +1,79 @@
 package backend.academy.solvers;
 
 import backend.academy.entities.Coordinate;
+import backend.academy.entities.DistanceField;
 import backend.academy.entities.Maze;
 import backend.academy.enums.Direction;
+import backend.academy.enums.Type;
 import backend.academy.interfaces.Solver;
-import java.util.Comparator;
+import backend.academy.structures.BucketQueue;
 import java.util.List;
-import java.util.PriorityQueue;
-import java.util.Queue;
 
 /**
  * Implements a breadth-first search (BFS) algorithm to fill the distance in the maze
  * from the starting coordinate of all other points.
+ * <p>
+ * Terrain costs are small integers, so the wave is kept in a {@link BucketQueue} with one
+ * bucket per possible distance ahead of the current one (Dial's algorithm): cells are taken
+ * in the order of their distance without comparisons or boxing, and cells reached over ice
+ * for free are processed right away. When the end cell is taken from the queue its distance
+ * is final and the search stops, unless the full distance field is requested. The search takes
+ * O(V + C) time, where C is the cost of the longest path.
  */
 public class BFSSolver extends BaseSolver implements Solver {
-    private Queue<Coordinate> queue;
+    private final BucketQueue queue = new BucketQueue(Type.maxPassableCost());
 
     public List<Coordinate> solve(Maze maze, Coordinate start, Coordinate end) {
         init(maze);
         fill(start);
-        bfs(start);
+        bfs(grid.index(start.row(), start.col()), grid.index(end.row(), end.col()));
 
-        searchPath(start, end);
-        return list;
+        return restorePath(start, end);
     }
 
-    public void init(Maze maze) {
-        super.init(maze);
-        queue = new PriorityQueue<>(Comparator.comparingInt(n -> grid[n.row()][n.col()].type().type()));
+    /**
+     * Computes the cheapest distances from the source to all cells of the maze.
+     * The results are copied out of the workspace, so the field outlives the following searches.
+     *
+     * @param maze   the maze
+     * @param source the source cell
+     * @return the distance field of the source
+     */
+    public DistanceField distanceField(Maze maze, Coordinate source) {
+        init(maze);
+        fill(source);
+        // There is no end cell, so the search covers the whole reachable maze
+        bfs(grid.index(source.row(), source.col()), -1);
+
+        return new DistanceField(grid, source, workspace.copyDistances(), workspace.copyPrevious());
     }
 
     /**
-     * Executes the BFS algorithm starting from the given point.
+     * Executes the BFS algorithm starting from the given cell.
      *
-     * @param point the starting coordinate for BFS
+     * @param point  the index of the starting cell for BFS
+     * @param target the index of the end cell
      */
-    private void bfs(Coordinate point) {
-        queue.add(point);
-        visited.add(point);
+    private void bfs(int point, int target) {
+        queue.reset(0);
+        queue.push(point, 0);
 
         while (!queue.isEmpty()) {
-            Coordinate current = queue.poll();
+            int current = queue.poll();
+            if (queue.priority() > distance(current)) {
+                continue; // A cheaper way to this cell has already been processed
+            }
+            if (current == target && !fullDistanceField) {
+                return;
+            }
 
             for (Direction direction : Direction.values()) {
-                if (checkCellDirection(current, direction)) {
-                    int row = calculateCoordinate(current, direction, true);
-                    int col = calculateCoordinate(current, direction, false);
-
-                    Coordinate newPoint = new Coordinate(row, col);
-
-                    queue.add(newPoint);
-                    visited.add(newPoint);
-
-                    tempGrid[newPoint.row()][newPoint.col()] = Math.min(tempGrid[newPoint.row()][newPoint.col()],
-                        tempGrid[current.row()][current.col()] + grid[newPoint.row()][newPoint.col()].type().type());
+                int newPoint = checkCellDirection(current, direction);
+                if (newPoint >= 0) {
+                    // The cell is only accepted if it is reached for the first time or by a cheaper way
+                    int newDistance = distance(current) + grid.type(newPoint).type();
+                    reach(newPoint, current, newDistance);
+                    queue.push(newPoint, newDistance);
                 }
             }
         }
@@ -1,27 +1,41 @@
 package backend.academy.solvers;
 
-import backend.academy.entities.Cell;
 import backend.academy.entities.Coordinate;
+import backend.academy.entities.DistanceField;
 import backend.academy.entities.Maze;
 import backend.academy.enums.Direction;
 import backend.academy.enums.Type;
-import backend.academy.settings.Settings;
+import backend.academy.interfaces.Grid;
+import backend.academy.structures.SearchWorkspace;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
 
 /**
  * The {@code BaseSolver} class provides functionality for pathfinding in a maze.
- * It employs a search algorithm to find a route between a start and end coordinate
- * while considering passable cell types.
+ * It keeps the state shared by the search algorithms and restores the found route
+ * between a start and end coordinate.
+ * <p>
+ * Cells are addressed by their flat indexes in the grid. The distances from the start and the
+ * cells every reached cell was entered from are kept in a {@link SearchWorkspace} owned by the
+ * solver, so the path is restored in a single pass from the end to the start. The workspace is
+ * reused by the following searches of the solver and cleared in constant time, so a short search
+ * does not pay for allocating and filling arrays over the whole grid. The results of a search stay
+ * readable until the next search of the same solver.
+ * <p>
+ * By default the search stops as soon as the path to the end is known. If the full distance
+ * field is requested, the search goes on over the whole reachable maze, and the distance of
+ * any cell can be read with {@link #distance(int, int)} after solving.
  */
 public class BaseSolver {
-    private static final List<Type> PASSABLE_TYPES = List.of(Type.NORMAL, Type.ICE, Type.SAND);
-    protected List<Coordinate> list;
-    protected List<Coordinate> visited;
-    protected List<Coordinate> restricted;
-    protected int[][] tempGrid;
-    protected Cell[][] grid;
+    protected static final int UNREACHED = DistanceField.UNREACHED;
+
+    @Getter @Setter protected boolean fullDistanceField;
+    protected final SearchWorkspace workspace = new SearchWorkspace();
+    protected Grid grid;
+    private boolean measured;
 
     /**
      * Initializes the solver with the given maze.
@@ -29,166 +43,131 @@ public class BaseSolver {
      * @param maze The maze to be solved.
      */
     public void init(Maze maze) {
-        list = new ArrayList<>();
-        visited = new ArrayList<>();
-        restricted = new ArrayList<>();
-        tempGrid = new int[maze.height()][maze.width()];
         grid = maze.grid();
+        workspace.start(grid.size());
+        measured = false;
     }
 
     /**
-     * Fills the temporary grid for pathfinding.
+     * Returns the distance from the start of the last search to the given cell.
      *
-     * @param start The starting coordinate.
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @return the cost of the cheapest path to the cell, or {@link Integer#MAX_VALUE}
+     *         if the cell has not been reached
+     * @throws IllegalStateException if the solver does not compute distances
      */
-    protected void fill(Coordinate start) {
-        for (int i = 1; i < tempGrid.length - 1; i++) {
-            for (int j = 1; j < tempGrid[i].length - 1; j++) {
-                tempGrid[i][j] = Integer.MAX_VALUE; // Initialize to max value
-            }
+    public int distance(int row, int col) {
+        if (!measured) {
+            throw new IllegalStateException(this + " does not compute distances");
         }
-        tempGrid[start.row()][start.col()] = 1; // Starting point
+        return workspace.distance(grid.index(row, col));
     }
 
     /**
-     * Finds a path from the start coordinate to the end coordinate.
-     * Traverses the coordinates and finds the shortest and most optimal path
-     * @param start The start coordinate.
-     * @param end The end coordinate.
+     * Creates the distance field for pathfinding: the start is at distance 0 and all other
+     * cells are unreached. The workspace is already cleared, so this takes constant time.
+     *
+     * @param start The starting coordinate.
      */
-    protected void searchPath(Coordinate start, Coordinate end) {
-        Coordinate newPoint = end;
-        list.add(newPoint);
-        while (checkIfPossibleToFindPath(newPoint, start)) {
-            Coordinate minPoint = selectMinCellCoordinate(newPoint);
-
-            if (newPoint.equals(minPoint)) {
-                list.remove(newPoint);
-                restricted.add(newPoint);
-                newPoint = list.getLast(); // Backtrack
-            } else {
-                newPoint = selectMinCellCoordinate(newPoint);
-                list.add(newPoint);
-            }
-        }
-        if (newPoint.equals(start)) {
-            Collections.reverse(list); // Found a valid path
-        } else {
-            list.clear(); // No valid path found
-        }
+    protected void fill(Coordinate start) {
+        measured = true;
+        reach(grid.index(start.row(), start.col()));
     }
 
     /**
-     * Selects the coordinate of the cell with the minimum value from the
-     * current cell, considering all valid neighboring cells in the
-     * specified directions.
+     * Marks the starting cell as reached at distance 0.
      *
-     * @param point the current coordinate being evaluated
-     * @return the coordinate of the cell with the minimum value among the
-     *         suitable neighboring cells
+     * @param source the index of the starting cell
      */
-    private Coordinate selectMinCellCoordinate(Coordinate point) {
-        Cell cell = grid[point.row()][point.col()];
-        for (Direction direction : Direction.values()) {
-            int row = calculateCoordinate(point, direction, true);
-            int col = calculateCoordinate(point, direction, false);
-            if (ifCellSuitable(row, col, cell)) {
-                cell = grid[row][col];
-            }
-        }
-        return cell.coordinate();
+    protected void reach(int source) {
+        workspace.reach(source, source, 0);
     }
 
     /**
-     * Checks if the specified cell in a given direction from the current
-     * coordinate is passable and whether it has been visited or offers
-     * a better path.
+     * Marks the cell as reached from the given cell at the given distance.
      *
-     * @param point the current coordinate being evaluated
-     * @param direction the direction to check for a neighboring cell
-     * @return true if the cell is passable and either not visited or has a
-     *         better path; false otherwise
+     * @param cell     the index of the reached cell
+     * @param from     the index of the cell it was entered from
+     * @param distance the distance of the cell
      */
-    protected boolean checkCellDirection(Coordinate point, Direction direction) {
-        Cell cell = grid[calculateCoordinate(point, direction, true)][calculateCoordinate(point, direction, false)];
-
-        return isCellPassable(cell) && (!hasBeenVisited(cell) || hasBetterPath(point, cell));
-    }
-
-    private boolean isCellPassable(Cell cell) {
-        return PASSABLE_TYPES.contains(cell.type());
-    }
-
-    private boolean hasBeenVisited(Cell cell) {
-        return visited.contains(cell.coordinate());
-    }
-
-    private boolean hasBetterPath(Coordinate point, Cell cell) {
-        return tempGrid[cell.coordinate().row()][cell.coordinate().col()]
-            > tempGrid[point.row()][point.col()] + cell.type().type();
+    protected void reach(int cell, int from, int distance) {
+        workspace.reach(cell, from, distance);
     }
 
     /**
-     * Determines if a cell at the specified row and column is suitable for traversal.
+     * Returns the distance of the cell in the current search.
      *
-     * @param row the row index of the cell
-     * @param col the column index of the cell
-     * @param cell the cell being evaluated
-     * @return true if the cell is suitable for traversal; false otherwise
+     * @param cell the index of the cell
+     * @return the distance, or {@link #UNREACHED} if the cell has not been reached
      */
-    private boolean ifCellSuitable(int row, int col, Cell cell) {
-        return checkCoordinatesInBounds(row, col)
-            && !isCellInPath(row, col)
-            && hasGoodPath(row, col, cell)
-            && isCellTypeSuitable(row, col)
-            && !isCellRestricted(row, col);
+    protected int distance(int cell) {
+        return workspace.distance(cell);
     }
 
-
-    private boolean isCellInPath(int row, int col) {
-        return list.contains(grid[row][col].coordinate());
-    }
-
-    private boolean hasGoodPath(int row, int col, Cell cell) {
-        return tempGrid[row][col] < tempGrid[cell.coordinate().row()][cell.coordinate().col()] + 1;
-    }
-
-    private boolean isCellTypeSuitable(int row, int col) {
-        return grid[row][col].type() != Type.BEDROCK;
+    /**
+     * Checks if the cell has been reached in the current search.
+     *
+     * @param cell the index of the cell
+     * @return true if the cell has been reached
+     */
+    protected boolean isReached(int cell) {
+        return workspace.isReached(cell);
     }
 
-    private boolean isCellRestricted(int row, int col) {
-        return restricted.contains(grid[row][col].coordinate());
+    /**
+     * Checks if the cell in a given direction from the current cell is passable
+     * and whether it has not been reached yet or offers a better path.
+     *
+     * @param point the index of the current cell
+     * @param direction the direction to check for a neighboring cell
+     * @return the index of the neighbouring cell if it is passable and either not reached or has a
+     *         better path; -1 otherwise
+     */
+    protected int checkCellDirection(int point, Direction direction) {
+        int next = neighbour(point, direction);
+        if (next < 0) {
+            return -1;
+        }
+        Type type = grid.type(next);
+        return type.isPassable() && (!isReached(next) || hasBetterPath(point, next, type)) ? next : -1;
     }
 
-    private boolean checkCoordinatesInBounds(int row, int col) {
-        return 0 <= row && row < Settings.MAX_HEIGHT && 0 <= col && col < Settings.MAX_WIDTH;
+    private boolean hasBetterPath(int point, int next, Type type) {
+        return workspace.distance(next) > workspace.distance(point) + type.type();
     }
 
-    protected int calculateCoordinate(Coordinate point, Direction direction, boolean isRow) {
-        return switch (direction) {
-            case UP -> isRow ? point.row() - 1 : point.col();
-            case DOWN -> isRow ? point.row() + 1 : point.col();
-            case LEFT -> isRow ? point.row() : point.col() - 1;
-            case RIGHT -> isRow ? point.row() : point.col() + 1;
-        };
+    /**
+     * Restores the path by following the previous cells from the end to the start.
+     *
+     * @param start The start coordinate.
+     * @param end   The end coordinate.
+     * @return the path from the start to the end, or an empty list if the end has not been reached
+     */
+    protected List<Coordinate> restorePath(Coordinate start, Coordinate end) {
+        int source = grid.index(start.row(), start.col());
+        int current = grid.index(end.row(), end.col());
+        List<Coordinate> path = new ArrayList<>();
+        if (!isReached(current)) {
+            return path;
+        }
+        path.add(end);
+        while (current != source) {
+            current = workspace.previous(current);
+            path.add(new Coordinate(grid.row(current), grid.col(current)));
+        }
+        Collections.reverse(path);
+        return path;
     }
 
     /**
-     * Determines if a path from the new point to the start point may exist.
+     * Returns the index of the neighbouring cell in the given direction.
      *
-     * @param newPoint the current point being evaluated
-     * @param start the starting point for the path
-     * @return true if a path may be found; false otherwise
+     * @param index     the index of the current cell
+     * @param direction the direction of the neighbour
+     * @return the index of the neighbour, or -1 if it is outside of the maze
      */
-    private boolean checkIfPossibleToFindPath(Coordinate newPoint, Coordinate start) {
-        if (!newPoint.equals(start)) {
-            if (newPoint.equals(selectMinCellCoordinate(newPoint)) && list.size() > 1) {
-                return true;
-            } else {
-                return !newPoint.equals(selectMinCellCoordinate(newPoint)) || list.size() > 1;
-            }
-        }
-        return false;
+    protected int neighbour(int index, Direction direction) {
+        return grid.neighbour(index, direction);
     }
 }
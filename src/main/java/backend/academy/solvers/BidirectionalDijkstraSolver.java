@@ -0,0 +1,170 @@
+package backend.academy.solvers;
+
+import backend.academy.entities.Coordinate;
+import backend.academy.entities.Maze;
+import backend.academy.enums.Direction;
+import backend.academy.enums.Type;
+import backend.academy.interfaces.Solver;
+import backend.academy.structures.IndexedMinHeap;
+import backend.academy.structures.SearchWorkspace;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Implements bidirectional Dijkstra's algorithm: two searches grow from the start and from
+ * the end at the same time, and the path is joined where they meet.
+ * <p>
+ * Entering a cell costs the weight of its type, so the search from the end pays for the cell
+ * it leaves rather than for the cell it enters. Every time a cell reached by one search is
+ * touched by the other one, the cost of the path through it is compared with the best path
+ * found so far. The first meeting is not necessarily the cheapest one, so the searches stop
+ * only when the smallest distances left in both queues add up to at least the cost of the best
+ * path: no path that is not found yet can be cheaper. The side with the smaller queue is
+ * expanded first, so the search from a dead end grows while the other one waits.
+ * <p>
+ * Each search covers the cells closer than about half of the path, so the gain depends on how
+ * fast the area grows with the distance: in mazes with loops the explored area is a third to a
+ * half smaller than for a single search, while in perfect mazes with long corridors, where the
+ * area grows almost linearly, it stays about the same.
+ * <p>
+ * The search from the end keeps its distances and next cells in a second workspace of the solver.
+ */
+public class BidirectionalDijkstraSolver extends BaseSolver implements Solver {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final SearchWorkspace backwardWorkspace = new SearchWorkspace();
+    private IndexedMinHeap forward;
+    private IndexedMinHeap backward;
+    private int bestCost;
+    private int meeting;
+    @Getter private int expandedCells;
+
+    @Override
+    public List<Coordinate> solve(Maze maze, Coordinate start, Coordinate end) {
+        init(maze);
+        fill(start);
+        int source = grid.index(start.row(), start.col());
+        int target = grid.index(end.row(), end.col());
+
+        search(source, target);
+        return bestCost == UNREACHED ? new ArrayList<>() : joinPath(source, target);
+    }
+
+    @Override
+    public void init(Maze maze) {
+        super.init(maze);
+        backwardWorkspace.start(grid.size());
+        forward = workspace.heap(0);
+        backward = backwardWorkspace.heap(0);
+        bestCost = UNREACHED;
+        meeting = -1;
+        expandedCells = 0;
+    }
+
+    /**
+     * Expands the cells of both searches until no cheaper path can be found.
+     *
+     * @param source the index of the starting cell
+     * @param target the index of the end cell
+     */
+    private void search(int source, int target) {
+        forward.push(source, 0);
+        backwardWorkspace.reach(target, target, 0);
+        backward.push(target, 0);
+        updateBest(source);
+
+        while (!forward.isEmpty() || !backward.isEmpty()) {
+            long forwardMin = forward.isEmpty() ? UNREACHED : forward.peekPriority();
+            long backwardMin = backward.isEmpty() ? UNREACHED : backward.peekPriority();
+            if (!fullDistanceField && forwardMin + backwardMin >= bestCost) {
+                return;
+            }
+            expandedCells++;
+            if (backward.isEmpty() || !forward.isEmpty() && forward.size() <= backward.size()) {
+                expandForward(forward.poll());
+            } else {
+                expandBackward(backward.poll());
+            }
+        }
+    }
+
+    private void expandForward(int current) {
+        int distance = distance(current);
+        for (Direction direction : DIRECTIONS) {
+            int neighbour = neighbour(current, direction);
+            Type type = neighbour < 0 ? Type.BEDROCK : grid.type(neighbour);
+            if (!type.isPassable()) {
+                continue;
+            }
+            int candidate = distance + type.type();
+            if (candidate < distance(neighbour)) {
+                reach(neighbour, current, candidate);
+                forward.push(neighbour, candidate);
+            }
+            updateBest(neighbour);
+        }
+    }
+
+    private void expandBackward(int current) {
+        // Moving backwards from the cell means that the cell is entered on the way forward
+        int candidate = backwardWorkspace.distance(current) + grid.type(current).type();
+        for (Direction direction : DIRECTIONS) {
+            int neighbour = neighbour(current, direction);
+            if (neighbour < 0 || !grid.type(neighbour).isPassable()) {
+                continue;
+            }
+            if (candidate < backwardWorkspace.distance(neighbour)) {
+                backwardWorkspace.reach(neighbour, current, candidate);
+                backward.push(neighbour, candidate);
+            }
+            updateBest(neighbour);
+        }
+    }
+
+    /**
+     * Remembers the path through the cell if both searches have reached it and it is cheaper
+     * than the best path found so far.
+     *
+     * @param cell the index of the cell
+     */
+    private void updateBest(int cell) {
+        int forwardDistance = distance(cell);
+        int backwardDistance = backwardWorkspace.distance(cell);
+        if (forwardDistance != UNREACHED && backwardDistance != UNREACHED
+            && forwardDistance + backwardDistance < bestCost) {
+            bestCost = forwardDistance + backwardDistance;
+            meeting = cell;
+        }
+    }
+
+    /**
+     * Joins the path from the start to the meeting cell with the path from the meeting cell to the end.
+     *
+     * @param source the index of the starting cell
+     * @param target the index of the end cell
+     * @return the path from the start to the end
+     */
+    private List<Coordinate> joinPath(int source, int target) {
+        List<Coordinate> path = new ArrayList<>();
+        int current = meeting;
+        while (current != source) {
+            current = workspace.previous(current);
+            path.add(new Coordinate(grid.row(current), grid.col(current)));
+        }
+        Collections.reverse(path);
+        current = meeting;
+        path.add(new Coordinate(grid.row(current), grid.col(current)));
+        while (current != target) {
+            current = backwardWorkspace.previous(current);
+            path.add(new Coordinate(grid.row(current), grid.col(current)));
+        }
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return "BidirectionalDijkstraSolver";
+    }
+}
@@ -4,46 +4,90 @@ import backend.academy.entities.Coordinate;
 import backend.academy.entities.Maze;
 import backend.academy.enums.Direction;
 import backend.academy.interfaces.Solver;
+import java.util.Arrays;
 import java.util.List;
 
 /**
- * Implements a depth-first search (DFS) algorithm to traverse the maze
- * and calculate the distance from the starting coordinate to all other points.
+ * Implements a depth-first search (DFS) algorithm to find a path between two points of the maze.
+ * <p>
+ * The search is iterative: cells waiting to be explored are kept by their indexes in a primitive
+ * stack, so the depth of the maze is not limited by the call stack. The stack is kept by the solver
+ * and only grows, so a repeated search does not allocate it again. Every reached cell is marked
+ * as visited and remembers the cell it was reached from, so each cell is pushed at most once and the
+ * search takes linear time. The path is restored by following these cells back from the end.
+ * <p>
+ * A cell is marked when it is first pushed, so the path follows the first way the search took to
+ * every cell. In a perfect maze the path between two cells is unique, so it is also the cheapest
+ * one; in a maze with loops it is just some path, as the menu states. Every cell also keeps the
+ * cost of the found path to it, which {@link #distance(int, int)} returns.
  */
 public class DFSSolver extends BaseSolver implements Solver {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int INITIAL_STACK_CAPACITY = 1024;
+
+    private int[] stack = new int[INITIAL_STACK_CAPACITY];
+    private int stackSize;
 
     public List<Coordinate> solve(Maze maze, Coordinate start, Coordinate end) {
         init(maze);
-        fill(start);
-        dfs(start);
+        int source = grid.index(start.row(), start.col());
+        int target = grid.index(end.row(), end.col());
 
-        searchPath(start, end);
-        return list;
+        fill(start);
+        dfs(source, target);
+        return restorePath(start, end);
     }
 
     /**
-     * Executes the DFS algorithm from the given point.
+     * Returns the cost of the path found by the last search to the given cell. Unlike the other
+     * solvers, this is not the cheapest cost if the maze has loops.
      *
-     * @param point the coordinate from which to perform DFS
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @return the cost of the found path to the cell, or {@link Integer#MAX_VALUE}
+     *         if the cell has not been reached
      */
-    private void dfs(Coordinate point) {
-        visited.add(point);
+    @Override
+    public int distance(int row, int col) {
+        return super.distance(row, col);
+    }
 
-        for (Direction direction : Direction.values()) {
-            if (checkCellDirection(point, direction)) {
-                int row = calculateCoordinate(point, direction, true);
-                int col = calculateCoordinate(point, direction, false);
+    @Override
+    public void init(Maze maze) {
+        super.init(maze);
+        stackSize = 0;
+    }
 
-                Coordinate newPoint = new Coordinate(row, col);
+    /**
+     * Executes the DFS algorithm from the given cell until the end cell is reached,
+     * or over the whole reachable maze if the full traversal is requested.
+     *
+     * @param source the index of the starting cell
+     * @param target the index of the end cell
+     */
+    private void dfs(int source, int target) {
+        push(source);
 
-                tempGrid[newPoint.row()][newPoint.col()] = Math.min(tempGrid[newPoint.row()][newPoint.col()],
-                    tempGrid[point.row()][point.col()] + grid[newPoint.row()][newPoint.col()].type().type());
+        while (stackSize > 0 && (fullDistanceField || !isReached(target))) {
+            int current = stack[--stackSize];
 
-                dfs(newPoint);
+            for (Direction direction : DIRECTIONS) {
+                int next = neighbour(current, direction);
+                if (next >= 0 && !isReached(next) && grid.type(next).isPassable()) {
+                    reach(next, current, distance(current) + grid.type(next).type());
+                    push(next);
+                }
             }
         }
     }
 
+    private void push(int index) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = index;
+    }
+
     @Override
     public String toString() {
         return "DFSSolver";
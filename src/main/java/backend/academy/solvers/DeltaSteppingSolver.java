@@ -0,0 +1,299 @@
+package backend.academy.solvers;
+
+import backend.academy.entities.Coordinate;
+import backend.academy.entities.Maze;
+import backend.academy.enums.Direction;
+import backend.academy.enums.Type;
+import backend.academy.interfaces.Solver;
+import backend.academy.structures.IntDeque;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Implements the delta-stepping algorithm to find the path of the lowest cost on a {@link ForkJoinPool}.
+ * <p>
+ * Cells wait in buckets of {@code delta} consecutive distances, and the buckets are processed
+ * in order. Entering a cell that costs at most {@code delta} is a light step, which may lead back
+ * into the current bucket, so the cells of the current bucket are expanded over light steps again and
+ * again until the bucket stays empty; then all cells settled in the bucket are expanded over heavy
+ * steps at once. Every round of expansions is split into chunks handled by the workers of the pool,
+ * and each chunk collects the improved cells in its own buffer.
+ * <p>
+ * The distance and the previous cell of every cell are packed into one long, distance first, and
+ * lowered with a compare-and-set, so the previous cell always matches the distance. Every cell put
+ * into a bucket is also listed as touched, and when the search is over, the workers unpack the states
+ * of the touched cells into the same workspace as in other solvers and reset them. So the states
+ * are allocated once per solver and a search never walks over the whole grid.
+ * The search stops after the bucket of the end cell, unless the full distance field is requested.
+ */
+public class DeltaSteppingSolver extends BaseSolver implements Solver {
+    /** The default width of a bucket: all steps are light, and there are no heavy rounds. */
+    public static final int DEFAULT_DELTA = Type.maxPassableCost();
+
+    private static final VarHandle STATES = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final long UNREACHED_STATE = (long) UNREACHED << Integer.SIZE;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int INITIAL_BUFFER = 256;
+
+    private final ForkJoinPool pool;
+    private final int delta;
+    private final int chunkCells;
+    private final int[][] buffers;
+    private final int[] bufferSizes;
+    private final IntDeque[] buckets;
+    private long[] states = new long[0];
+    private int[] touched = new int[INITIAL_BUFFER];
+    private int touchedSize;
+    private int[] frontier = new int[INITIAL_BUFFER];
+    private int frontierSize;
+    private int[] settled = new int[INITIAL_BUFFER];
+    private int settledSize;
+    private int chunkSize;
+    private boolean heavy;
+
+    public DeltaSteppingSolver() {
+        this(ForkJoinPool.commonPool(), DEFAULT_DELTA, ParallelBFSSolver.DEFAULT_CHUNK_CELLS);
+    }
+
+    /**
+     * Creates a solver that runs on the given pool.
+     *
+     * @param pool       the pool expanding the buckets
+     * @param delta      the width of a bucket, at least 1
+     * @param chunkCells the smallest number of frontier cells expanded by one worker
+     */
+    public DeltaSteppingSolver(ForkJoinPool pool, int delta, int chunkCells) {
+        if (delta < 1) {
+            throw new IllegalArgumentException("The width of a bucket must be positive, got " + delta);
+        }
+        this.pool = pool;
+        this.delta = delta;
+        this.chunkCells = chunkCells;
+        int chunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        this.buffers = new int[chunks][INITIAL_BUFFER];
+        this.bufferSizes = new int[chunks];
+        // A step leads at most maxPassableCost further, so only that many buckets ahead are in use
+        this.buckets = new IntDeque[Type.maxPassableCost() / delta + 2];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new IntDeque();
+        }
+    }
+
+    @Override
+    public List<Coordinate> solve(Maze maze, Coordinate start, Coordinate end) {
+        init(maze);
+        fill(start);
+        search(grid.index(start.row(), start.col()), grid.index(end.row(), end.col()));
+        unpack();
+        return restorePath(start, end);
+    }
+
+    @Override
+    public void init(Maze maze) {
+        super.init(maze);
+        if (states.length < grid.size() || touchedSize > 0) {
+            // Either the grid has grown, or the last search failed before resetting its states
+            states = new long[Math.max(states.length, grid.size())];
+            Arrays.fill(states, UNREACHED_STATE);
+            touchedSize = 0;
+        }
+        for (IntDeque bucket : buckets) {
+            bucket.clear();
+        }
+    }
+
+    /**
+     * Processes the buckets in order until the end cell is settled or no cells are left.
+     *
+     * @param source the index of the starting cell
+     * @param target the index of the end cell
+     */
+    private void search(int source, int target) {
+        states[source] = source;
+        touch(source);
+        buckets[0].addLast(source);
+        int waiting = 1;
+        for (int bucket = 0; waiting > 0; bucket++) {
+            IntDeque current = buckets[bucket % buckets.length];
+            settledSize = 0;
+            heavy = false;
+            while (!current.isEmpty()) {
+                waiting -= current.size();
+                takeFrontier(current, bucket);
+                waiting += expandFrontier();
+            }
+            if (!fullDistanceField && distanceOf(target) / delta <= bucket) {
+                return;
+            }
+            if (delta < Type.maxPassableCost()) {
+                // The cells of the bucket are final, so they take their heavy steps at once
+                heavy = true;
+                int[] swap = frontier;
+                frontier = settled;
+                frontierSize = settledSize;
+                settled = swap;
+                waiting += expandFrontier();
+            }
+        }
+    }
+
+    /**
+     * Moves the cells of the bucket into the frontier, skipping the cells that have left the bucket.
+     * A cell improved twice may be taken twice, which only repeats relaxations that change nothing.
+     */
+    private void takeFrontier(IntDeque bucket, int number) {
+        frontierSize = 0;
+        while (!bucket.isEmpty()) {
+            int cell = bucket.pollFirst();
+            if (distanceOf(cell) / delta == number) {
+                if (frontierSize == frontier.length) {
+                    frontier = Arrays.copyOf(frontier, frontierSize * 2);
+                }
+                frontier[frontierSize++] = cell;
+            }
+        }
+        if (settledSize + frontierSize > settled.length) {
+            settled = Arrays.copyOf(settled, Math.max(settledSize + frontierSize, settled.length * 2));
+        }
+        System.arraycopy(frontier, 0, settled, settledSize, frontierSize);
+        settledSize += frontierSize;
+    }
+
+    /**
+     * Expands the frontier in chunks and puts the improved cells into their buckets.
+     *
+     * @return the number of cells put into the buckets
+     */
+    private int expandFrontier() {
+        int chunks = runChunks(frontierSize, this::expand);
+        int added = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int[] buffer = buffers[chunk];
+            for (int i = 0; i < bufferSizes[chunk]; i++) {
+                touch(buffer[i]);
+                buckets[distanceOf(buffer[i]) / delta % buckets.length].addLast(buffer[i]);
+            }
+            added += bufferSizes[chunk];
+        }
+        return added;
+    }
+
+    /**
+     * Splits the given number of cells into chunks and runs the task for every chunk, on the workers
+     * of the pool if there is more than one chunk.
+     *
+     * @param cells the number of cells
+     * @param task  the task taking the number of the chunk
+     * @return the number of chunks
+     */
+    private int runChunks(int cells, IntConsumer task) {
+        int chunks = Math.clamp(cells / chunkCells, 1, buffers.length);
+        chunkSize = (cells + chunks - 1) / chunks;
+        if (chunks == 1) {
+            task.accept(0);
+        } else {
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(task)).join();
+        }
+        return chunks;
+    }
+
+    /**
+     * Relaxes the light or the heavy steps of one chunk of the frontier into its own buffer.
+     *
+     * @param chunk the number of the chunk
+     */
+    private void expand(int chunk) {
+        int[] buffer = buffers[chunk];
+        int size = 0;
+        int end = Math.min(frontierSize, (chunk + 1) * chunkSize);
+        for (int position = chunk * chunkSize; position < end; position++) {
+            int current = frontier[position];
+            int distance = distanceOf(current);
+            for (Direction direction : DIRECTIONS) {
+                int next = neighbour(current, direction);
+                if (next < 0) {
+                    continue;
+                }
+                Type type = grid.type(next);
+                boolean step = type.isPassable() && (type.type() > delta) == heavy;
+                if (step && lower(next, distance + type.type(), current)) {
+                    if (size == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, size * 2);
+                    }
+                    buffer[size++] = next;
+                }
+            }
+        }
+        buffers[chunk] = buffer;
+        bufferSizes[chunk] = size;
+    }
+
+    /**
+     * Lowers the distance of the cell if the new one is smaller.
+     *
+     * @param cell     the index of the cell
+     * @param distance the new distance
+     * @param from     the index of the cell it is entered from
+     * @return true if the distance has been lowered by this call
+     */
+    private boolean lower(int cell, int distance, int from) {
+        long state = (long) distance << Integer.SIZE | from;
+        long current = (long) STATES.getVolatile(states, cell);
+        while ((int) (current >>> Integer.SIZE) > distance) {
+            long witness = (long) STATES.compareAndExchange(states, cell, current, state);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        return false;
+    }
+
+    private int distanceOf(int cell) {
+        return (int) ((long) STATES.getVolatile(states, cell) >>> Integer.SIZE);
+    }
+
+    private void touch(int cell) {
+        if (touchedSize == touched.length) {
+            touched = Arrays.copyOf(touched, touchedSize * 2);
+        }
+        touched[touchedSize++] = cell;
+    }
+
+    /**
+     * Unpacks the states of the touched cells into the workspace and resets them for the next search.
+     */
+    private void unpack() {
+        runChunks(touchedSize, this::unpack);
+        touchedSize = 0;
+    }
+
+    /**
+     * Unpacks one chunk of the touched cells. A cell touched several times is unpacked by the call
+     * that resets its state first, the others find it unreached.
+     *
+     * @param chunk the number of the chunk
+     */
+    private void unpack(int chunk) {
+        int end = Math.min(touchedSize, (chunk + 1) * chunkSize);
+        for (int position = chunk * chunkSize; position < end; position++) {
+            int cell = touched[position];
+            long state = (long) STATES.getAndSet(states, cell, UNREACHED_STATE);
+            int distance = (int) (state >>> Integer.SIZE);
+            if (distance != UNREACHED) {
+                reach(cell, (int) state, distance);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DeltaSteppingSolver";
+    }
+}
@@ -0,0 +1,76 @@
+package backend.academy.solvers;
+
+import backend.academy.entities.Coordinate;
+import backend.academy.entities.Maze;
+import backend.academy.enums.Direction;
+import backend.academy.enums.Type;
+import backend.academy.interfaces.Solver;
+import backend.academy.structures.IndexedMinHeap;
+import java.util.List;
+
+/**
+ * Implements Dijkstra's algorithm to find the path of the lowest cost in the maze.
+ * <p>
+ * Entering a cell costs the weight of its type, so ice is free and sand is expensive.
+ * Cells are addressed by their indexes in the grid: distances and the cells the path came
+ * from are kept in int arrays, and the cells to visit are kept in an {@link IndexedMinHeap},
+ * where the distance of a cell is lowered in place. Every cell is settled once, so the search
+ * takes O(E log V) time and allocates nothing per cell. The path is restored by following
+ * the previous cells from the end.
+ */
+public class DijkstraSolver extends BaseSolver implements Solver {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private IndexedMinHeap heap;
+
+    @Override
+    public List<Coordinate> solve(Maze maze, Coordinate start, Coordinate end) {
+        init(maze);
+        fill(start);
+        dijkstra(grid.index(start.row(), start.col()), grid.index(end.row(), end.col()));
+        return restorePath(start, end);
+    }
+
+    @Override
+    public void init(Maze maze) {
+        super.init(maze);
+        heap = workspace.heap(0);
+    }
+
+    /**
+     * Executes Dijkstra's algorithm, filling the distances from the given cell until the end cell
+     * is settled, or to all reachable cells if the full distance field is requested.
+     *
+     * @param source the index of the starting cell
+     * @param target the index of the end cell
+     */
+    private void dijkstra(int source, int target) {
+        heap.push(source, 0);
+
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            if (current == target && !fullDistanceField) {
+                return;
+            }
+            int distance = distance(current);
+
+            for (Direction direction : DIRECTIONS) {
+                int next = neighbour(current, direction);
+                if (next < 0) {
+                    continue;
+                }
+                Type type = grid.type(next);
+                int candidate = distance + type.type();
+                if (type.isPassable() && candidate < distance(next)) {
+                    reach(next, current, candidate);
+                    heap.push(next, candidate);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DijkstraSolver";
+    }
+}
@@ -0,0 +1,260 @@
+package backend.academy.solvers;
+
+import backend.academy.entities.Coordinate;
+import backend.academy.entities.Maze;
+import backend.academy.enums.Direction;
+import backend.academy.interfaces.Grid;
+import backend.academy.interfaces.Solver;
+import backend.academy.structures.IndexedMinHeap;
+import backend.academy.structures.JunctionGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Implements Dijkstra's algorithm on the {@link JunctionGraph} of the maze.
+ * <p>
+ * The graph is built once per grid and reused while the grid is solved again. The grid counts its
+ * changes ({@link Grid#modificationCount()}), so the graph is built anew after the maze has been
+ * changed in place, and there is nothing to invalidate by hand. The start
+ * and the end usually lie inside corridors, so only their own corridors are walked cell by cell:
+ * the nodes at both ends of the start corridor become the sources of the search, and the nodes at
+ * both ends of the end corridor finish it. The search stops once no node in the queue can give a
+ * cheaper path than the best one found, and the corridors of the path are expanded back into cells.
+ * <p>
+ * Paths starting or ending at an impassable cell are not searched.
+ */
+public class JunctionGraphSolver implements Solver {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int UNREACHED = Integer.MAX_VALUE;
+    private static final int SOURCE = -1;
+
+    private JunctionGraph graph;
+    private Grid grid;
+    private long graphModificationCount;
+    private int[] distances;
+    private int[] parents;
+    private int[] parentEdges;
+    private IndexedMinHeap heap;
+    private int walkCost;
+    @Getter private int expandedNodes;
+
+    @Override
+    public List<Coordinate> solve(Maze maze, Coordinate start, Coordinate end) {
+        init(maze);
+        int source = grid.index(start.row(), start.col());
+        int target = grid.index(end.row(), end.col());
+        if (source == target) {
+            return List.of(end);
+        }
+        if (!grid.type(source).isPassable() || !grid.type(target).isPassable()) {
+            return List.of();
+        }
+        return search(source, target);
+    }
+
+    /**
+     * Builds the junction graph of the maze unless it is already built for the grid as it is now.
+     *
+     * @param maze the maze to be solved
+     */
+    public void init(Maze maze) {
+        if (maze.grid() != grid || grid.modificationCount() != graphModificationCount) {
+            grid = maze.grid();
+            graphModificationCount = grid.modificationCount();
+            graph = JunctionGraph.of(grid);
+            distances = new int[graph.nodeCount()];
+            parents = new int[graph.nodeCount()];
+            parentEdges = new int[graph.nodeCount()];
+            heap = new IndexedMinHeap(graph.nodeCount());
+        }
+        Arrays.fill(distances, UNREACHED);
+        heap.clear();
+        expandedNodes = 0;
+    }
+
+    private List<Coordinate> search(int source, int target) {
+        // The path may stay inside the start corridor
+        int best = UNREACHED;
+        int bestFirst = -1;
+        for (int first : corridorEnds(source)) {
+            int node = walk(source, first, target);
+            if (node == target) {
+                if (walkCost < best) {
+                    best = walkCost;
+                    bestFirst = first;
+                }
+            } else {
+                seed(graph.node(node), walkCost);
+            }
+        }
+
+        // The cost of entering the end from the nodes at the ends of its corridor
+        int[] endFirsts = corridorEnds(target);
+        int[] endNodes = new int[endFirsts.length];
+        int[] endCosts = new int[endFirsts.length];
+        for (int i = 0; i < endFirsts.length; i++) {
+            endNodes[i] = walk(target, endFirsts[i], -1);
+            endCosts[i] = walkCost - graph.cost(endNodes[i]) + graph.cost(target);
+        }
+
+        int bestNode = -1;
+        while (!heap.isEmpty() && heap.peekPriority() < best) {
+            int node = heap.poll();
+            expandedNodes++;
+            int distance = distances[node];
+            for (int i = 0; i < endNodes.length; i++) {
+                if (graph.cell(node) == endNodes[i] && distance + endCosts[i] < best) {
+                    best = distance + endCosts[i];
+                    bestNode = i;
+                }
+            }
+            relax(node, distance);
+        }
+
+        if (best == UNREACHED) {
+            return List.of();
+        }
+        List<Coordinate> path = new ArrayList<>();
+        path.add(coordinate(source));
+        if (bestNode < 0) {
+            walk(source, bestFirst, target, path);
+        } else {
+            appendNodes(source, target, graph.node(endNodes[bestNode]), path);
+            appendEnd(target, endFirsts[bestNode], path);
+        }
+        return path;
+    }
+
+    private void seed(int node, int distance) {
+        if (distance < distances[node]) {
+            distances[node] = distance;
+            parents[node] = SOURCE;
+            heap.push(node, distance);
+        }
+    }
+
+    private void relax(int node, int distance) {
+        for (int edge = graph.offset(node); edge < graph.offset(node + 1); edge++) {
+            int next = graph.target(edge);
+            int candidate = distance + graph.weight(edge);
+            if (candidate < distances[next]) {
+                distances[next] = candidate;
+                parents[next] = node;
+                parentEdges[next] = edge;
+                heap.push(next, candidate);
+            }
+        }
+    }
+
+    /**
+     * Appends the cells from the start to the last node of the path.
+     */
+    private void appendNodes(int source, int target, int last, List<Coordinate> path) {
+        int count = 0;
+        int node = last;
+        while (parents[node] != SOURCE) {
+            count++;
+            node = parents[node];
+        }
+        int[] edges = new int[count];
+        for (int current = last; parents[current] != SOURCE; current = parents[current]) {
+            edges[--count] = parentEdges[current];
+        }
+
+        // Walk the start corridor again to the node the path leaves it by
+        int sourceNode = graph.node(source);
+        if (sourceNode < 0) {
+            for (int first : corridorEnds(source)) {
+                int end = walk(source, first, target);
+                if (graph.node(end) == node && walkCost == distances[node]) {
+                    walk(source, first, target, path);
+                    break;
+                }
+            }
+        }
+        for (int edge : edges) {
+            walk(graph.cell(node), graph.first(edge), -1, path);
+            node = graph.target(edge);
+        }
+    }
+
+    /**
+     * Appends the cells from the last node of the path to the end.
+     */
+    private void appendEnd(int target, int first, List<Coordinate> path) {
+        if (graph.node(target) >= 0) {
+            return;
+        }
+        List<Coordinate> tail = new ArrayList<>();
+        walk(target, first, -1, tail);
+        tail.removeLast(); // The node is already in the path
+        Collections.reverse(tail);
+        path.addAll(tail);
+        path.add(coordinate(target));
+    }
+
+    /**
+     * Returns the first cells of the ways out of the cell: its passable neighbours if it is
+     * a corridor cell, or the cell itself if it is a node.
+     */
+    private int[] corridorEnds(int cell) {
+        if (graph.node(cell) >= 0) {
+            return new int[] {cell};
+        }
+        int[] ends = new int[2];
+        int count = 0;
+        for (Direction direction : DIRECTIONS) {
+            int neighbour = grid.neighbour(cell, direction);
+            if (neighbour >= 0 && grid.type(neighbour).isPassable()) {
+                ends[count++] = neighbour;
+            }
+        }
+        return ends;
+    }
+
+    private int walk(int from, int first, int stop) {
+        return walk(from, first, stop, null);
+    }
+
+    /**
+     * Walks along a corridor until a node or the stop cell, summing up the cost of the entered cells.
+     *
+     * @param from  the index of the cell the walk starts from
+     * @param first the index of the first entered cell, or {@code from} to stay in place
+     * @param stop  the index of the cell to stop at, or -1
+     * @param path  collects the entered cells if not null
+     * @return the index of the last entered cell
+     */
+    private int walk(int from, int first, int stop, List<Coordinate> path) {
+        walkCost = 0;
+        if (first == from) {
+            return from;
+        }
+        int previous = from;
+        int current = first;
+        while (true) {
+            walkCost += graph.cost(current);
+            if (path != null) {
+                path.add(coordinate(current));
+            }
+            if (current == stop || graph.node(current) >= 0) {
+                return current;
+            }
+            int next = graph.next(previous, current);
+            previous = current;
+            current = next;
+        }
+    }
+
+    private Coordinate coordinate(int cell) {
+        return new Coordinate(grid.row(cell), grid.col(cell));
+    }
+
+    @Override
+    public String toString() {
+        return "JunctionGraphSolver";
+    }
+}
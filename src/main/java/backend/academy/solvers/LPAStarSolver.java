@@ -0,0 +1,214 @@
+package backend.academy.solvers;
+
+import backend.academy.entities.Coordinate;
+import backend.academy.entities.Maze;
+import backend.academy.enums.Direction;
+import backend.academy.enums.Type;
+import backend.academy.interfaces.Grid;
+import backend.academy.interfaces.Solver;
+import backend.academy.structures.LongIndexedMinHeap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Implements Lifelong Planning A* (LPA*), which keeps its search between calls and repairs it
+ * after some cells of the maze have changed.
+ * <p>
+ * Every cell keeps its distance and a one-step lookahead: the smallest distance of a neighbour
+ * plus the cost of entering the cell. A cell whose two values differ waits in a queue ordered
+ * by the smaller one, and the search takes cells from the queue until the end cell is consistent
+ * and no cell in the queue can lower its distance. A cell whose lookahead is lower takes it as its
+ * distance and offers it to the neighbours; a cell whose lookahead is higher forgets its distance,
+ * so the neighbours relying on it look for another way. The first search works as Dijkstra's
+ * algorithm. After {@link #update(Collection)} recomputes the lookaheads of the changed cells, the
+ * next search with the same maze and start only processes the cells whose distances change.
+ * <p>
+ * The order of the queue does not depend on the end, so a search for another end goes on from where
+ * the last one stopped: an end settled already is answered at once, and a farther one only takes the
+ * cells between the two. Only a new maze or a new start begins the search anew.
+ * <p>
+ * LPA* needs steps of positive cost: with free ice, a group of ice cells cut off from the start
+ * would keep supporting the old distances of each other. So a distance is the cost of the path
+ * in the high half of a long and the number of moves in the low half, and every move is positive.
+ * The estimate of the remaining cost is zero on free ice, as noted in {@link AStarSolver}, so the
+ * queue is ordered by distance alone, in a {@link LongIndexedMinHeap} of its own.
+ * <p>
+ * The solver owns its arrays, so its search survives other searches on the same thread.
+ * The search is only repaired if the changes of the maze are passed to {@link #update(Collection)}.
+ * The solver remembers the modification count of the grid after every search and update, and if the
+ * grid has been changed since then without an update, the next search starts anew instead.
+ */
+public class LPAStarSolver implements Solver {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final long UNREACHED = Long.MAX_VALUE;
+
+    private Grid grid;
+    private int source = -1;
+    private int target = -1;
+    private long modificationCount;
+    private long[] distances;
+    private long[] lookaheads;
+    private LongIndexedMinHeap queue;
+    @Getter private int processedCells;
+
+    @Override
+    public List<Coordinate> solve(Maze maze, Coordinate start, Coordinate end) {
+        int from = maze.grid().index(start.row(), start.col());
+        int to = maze.grid().index(end.row(), end.col());
+        if (maze.grid() != grid || from != source || grid.modificationCount() != modificationCount) {
+            init(maze.grid(), from);
+        }
+        target = to;
+        processedCells = 0;
+        search();
+        modificationCount = grid.modificationCount();
+        return restorePath();
+    }
+
+    /**
+     * Takes the changes of the maze into account. The cells must be changed in the grid already,
+     * and all changes made since the last search must be passed, otherwise the search is outdated.
+     *
+     * @param changedCells the cells whose types have changed since the last search
+     */
+    public void update(Collection<Coordinate> changedCells) {
+        if (grid == null) {
+            return;
+        }
+        for (Coordinate cell : changedCells) {
+            // Only the cost of entering the cell has changed, so only its own lookahead is affected
+            relookup(grid.index(cell.row(), cell.col()));
+        }
+        modificationCount = grid.modificationCount();
+    }
+
+    private void init(Grid newGrid, int from) {
+        if (distances == null || distances.length != newGrid.size()) {
+            distances = new long[newGrid.size()];
+            lookaheads = new long[newGrid.size()];
+            queue = new LongIndexedMinHeap(newGrid.size());
+        }
+        Arrays.fill(distances, UNREACHED);
+        Arrays.fill(lookaheads, UNREACHED);
+        queue.clear();
+        grid = newGrid;
+        source = from;
+        lookaheads[source] = 0;
+        queue.push(source, 0);
+    }
+
+    /**
+     * Processes inconsistent cells until the distance of the end cell is final.
+     */
+    private void search() {
+        while (!queue.isEmpty()
+            && (queue.peekPriority() < Math.min(distances[target], lookaheads[target])
+            || distances[target] != lookaheads[target])) {
+            int cell = queue.poll();
+            processedCells++;
+            if (lookaheads[cell] < distances[cell]) {
+                distances[cell] = lookaheads[cell];
+                for (Direction direction : DIRECTIONS) {
+                    lower(grid.neighbour(cell, direction), distances[cell]);
+                }
+            } else {
+                distances[cell] = UNREACHED;
+                relookup(cell);
+                for (Direction direction : DIRECTIONS) {
+                    relookup(grid.neighbour(cell, direction));
+                }
+            }
+        }
+    }
+
+    /**
+     * Lowers the lookahead of the cell if it is cheaper to enter it from a neighbour at the given distance.
+     */
+    private void lower(int cell, long distance) {
+        if (cell < 0 || cell == source) {
+            return;
+        }
+        long step = step(cell);
+        if (step != UNREACHED && distance + step < lookaheads[cell]) {
+            lookaheads[cell] = distance + step;
+            enqueue(cell);
+        }
+    }
+
+    /**
+     * Recomputes the lookahead of the cell from all its neighbours.
+     */
+    private void relookup(int cell) {
+        if (cell < 0 || cell == source) {
+            return;
+        }
+        long step = step(cell);
+        long best = UNREACHED;
+        for (Direction direction : DIRECTIONS) {
+            int neighbour = grid.neighbour(cell, direction);
+            if (neighbour >= 0 && distances[neighbour] < best) {
+                best = distances[neighbour];
+            }
+        }
+        lookaheads[cell] = step == UNREACHED || best == UNREACHED ? UNREACHED : best + step;
+        enqueue(cell);
+    }
+
+    /**
+     * Puts the cell into the queue by the smaller of its values if it is inconsistent, or removes it otherwise.
+     */
+    private void enqueue(int cell) {
+        queue.remove(cell);
+        if (distances[cell] != lookaheads[cell]) {
+            queue.push(cell, Math.min(distances[cell], lookaheads[cell]));
+        }
+    }
+
+    /**
+     * Returns the cost of entering the cell in the high half and one move in the low half,
+     * or {@link #UNREACHED} if the cell is impassable.
+     */
+    private long step(int cell) {
+        Type type = grid.type(cell);
+        return type.isPassable() ? ((long) type.type() << Integer.SIZE) + 1 : UNREACHED;
+    }
+
+    /**
+     * Restores the path by stepping back from the end to the neighbours whose distances lead to the cells.
+     */
+    private List<Coordinate> restorePath() {
+        List<Coordinate> path = new ArrayList<>();
+        if (distances[target] == UNREACHED) {
+            return path;
+        }
+        for (int current = target; current != source; current = back(current)) {
+            if (current < 0) {
+                throw new IllegalStateException("The maze has been changed without an update");
+            }
+            path.add(new Coordinate(grid.row(current), grid.col(current)));
+        }
+        path.add(new Coordinate(grid.row(source), grid.col(source)));
+        Collections.reverse(path);
+        return path;
+    }
+
+    private int back(int cell) {
+        long step = step(cell);
+        for (Direction direction : DIRECTIONS) {
+            int neighbour = grid.neighbour(cell, direction);
+            if (neighbour >= 0 && distances[neighbour] != UNREACHED && distances[neighbour] + step == distances[cell]) {
+                return neighbour;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "LPAStarSolver";
+    }
+}
@@ -0,0 +1,141 @@
+package backend.academy.solvers;
+
+import backend.academy.entities.Coordinate;
+import backend.academy.entities.Maze;
+import backend.academy.enums.Direction;
+import backend.academy.interfaces.Solver;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Implements a level-synchronous breadth-first search on a {@link ForkJoinPool}.
+ * <p>
+ * Every move counts as one step regardless of the terrain, so the distances are the numbers of
+ * moves from the start and the path has the fewest moves, which is not always the cheapest one.
+ * The cells of one level form the frontier. A large frontier is split into chunks expanded by the
+ * workers of the pool: a worker claims a neighbour by setting its stamp in the workspace with a
+ * compare-and-set, and only the claiming worker writes the distance and the previous cell of the
+ * neighbour and puts it into the next frontier buffer of its chunk. When all chunks are done, the
+ * buffers are joined into the next frontier. Small frontiers are expanded on the calling thread.
+ * The stamps are cleared in constant time as in other solvers, so a search allocates nothing over
+ * the whole grid.
+ * <p>
+ * The workers only help when the frontiers are wide, as on open maps with many removed walls;
+ * perfect mazes with long corridors have narrow frontiers and are searched almost sequentially.
+ * <p>
+ * The search stops after the level of the end cell, unless the full distance field is requested.
+ */
+public class ParallelBFSSolver extends BaseSolver implements Solver {
+    /** The smallest number of frontier cells expanded by one worker. */
+    public static final int DEFAULT_CHUNK_CELLS = 1024;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int INITIAL_BUFFER = 256;
+
+    private final ForkJoinPool pool;
+    private final int chunkCells;
+    private final int[][] buffers;
+    private final int[] bufferSizes;
+    private int[] frontier = new int[INITIAL_BUFFER];
+    private int frontierSize;
+    private int chunkSize;
+
+    public ParallelBFSSolver() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_CELLS);
+    }
+
+    /**
+     * Creates a solver that runs on the given pool.
+     *
+     * @param pool       the pool expanding the frontiers
+     * @param chunkCells the smallest number of frontier cells expanded by one worker
+     */
+    public ParallelBFSSolver(ForkJoinPool pool, int chunkCells) {
+        this.pool = pool;
+        this.chunkCells = chunkCells;
+        int chunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        this.buffers = new int[chunks][INITIAL_BUFFER];
+        this.bufferSizes = new int[chunks];
+    }
+
+    @Override
+    public List<Coordinate> solve(Maze maze, Coordinate start, Coordinate end) {
+        init(maze);
+        fill(start);
+        search(grid.index(start.row(), start.col()), grid.index(end.row(), end.col()));
+        return restorePath(start, end);
+    }
+
+    /**
+     * Expands the frontiers level by level until the end cell is reached or no cells are left.
+     *
+     * @param source the index of the starting cell
+     * @param target the index of the end cell
+     */
+    private void search(int source, int target) {
+        frontier[0] = source;
+        frontierSize = 1;
+
+        while (frontierSize > 0 && (fullDistanceField || !isReached(target))) {
+            int chunks = Math.clamp(frontierSize / chunkCells, 1, buffers.length);
+            chunkSize = (frontierSize + chunks - 1) / chunks;
+            if (chunks == 1) {
+                expand(0);
+            } else {
+                pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(this::expand)).join();
+            }
+            joinBuffers(chunks);
+        }
+    }
+
+    /**
+     * Expands one chunk of the frontier into its own buffer.
+     *
+     * @param chunk the number of the chunk
+     */
+    private void expand(int chunk) {
+        int[] buffer = buffers[chunk];
+        int size = 0;
+        int end = Math.min(frontierSize, (chunk + 1) * chunkSize);
+        for (int position = chunk * chunkSize; position < end; position++) {
+            int current = frontier[position];
+            int distance = distance(current) + 1;
+            for (Direction direction : DIRECTIONS) {
+                int next = neighbour(current, direction);
+                if (next < 0 || !grid.type(next).isPassable() || !workspace.claim(next, current, distance)) {
+                    continue;
+                }
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size * 2);
+                }
+                buffer[size++] = next;
+            }
+        }
+        buffers[chunk] = buffer;
+        bufferSizes[chunk] = size;
+    }
+
+    private void joinBuffers(int chunks) {
+        int size = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            size += bufferSizes[chunk];
+        }
+        if (frontier.length < size) {
+            frontier = new int[Math.max(size, frontier.length * 2)];
+        }
+        int position = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            System.arraycopy(buffers[chunk], 0, frontier, position, bufferSizes[chunk]);
+            position += bufferSizes[chunk];
+        }
+        frontierSize = size;
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelBFSSolver";
+    }
+}
@@ -0,0 +1,89 @@
+package backend.academy.structures;
+
+/**
+ * Monotone priority queue of int keys with small integer priorities (Dial's buckets).
+ * <p>
+ * If every priority pushed is at most {@code maxStep} greater than the priority of the last
+ * polled key, the keys waiting in the queue have at most {@code maxStep + 1} different priorities.
+ * They are kept in a circular array of that many buckets, where the priority selects the bucket,
+ * so pushing and polling need no comparisons, and polling moves the current priority forward
+ * through empty buckets at most {@code maxStep} times. Keys pushed with the current priority,
+ * reached by a step of zero cost, are put in front of their bucket and polled next.
+ * <p>
+ * The queue does not track keys: a key pushed again with a lower priority stays in the queue
+ * under the old one as well, so such stale entries must be skipped by the caller.
+ */
+public class BucketQueue {
+    private final IntDeque[] buckets;
+    private int current;
+    private int size;
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param maxStep the maximum difference between a pushed priority and the current one
+     */
+    public BucketQueue(int maxStep) {
+        this.buckets = new IntDeque[maxStep + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new IntDeque();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the priority of the last polled key.
+     *
+     * @return the current priority
+     */
+    public int priority() {
+        return current;
+    }
+
+    /**
+     * Adds the key with the given priority.
+     *
+     * @param key      the key
+     * @param priority the priority from {@code priority()} to {@code priority() + maxStep}
+     */
+    public void push(int key, int priority) {
+        IntDeque bucket = buckets[priority % buckets.length];
+        if (priority == current) {
+            bucket.addFirst(key);
+        } else {
+            bucket.addLast(key);
+        }
+        size++;
+    }
+
+    /**
+     * Removes a key with the lowest priority and makes its priority current.
+     *
+     * @return the removed key
+     */
+    public int poll() {
+        IntDeque bucket = buckets[current % buckets.length];
+        while (bucket.isEmpty()) {
+            current++;
+            bucket = buckets[current % buckets.length];
+        }
+        size--;
+        return bucket.pollFirst();
+    }
+
+    /**
+     * Removes all keys and sets the current priority to the given one.
+     *
+     * @param priority the new current priority
+     */
+    public void reset(int priority) {
+        for (IntDeque bucket : buckets) {
+            bucket.clear();
+        }
+        current = priority;
+        size = 0;
+    }
+}
@@ -0,0 +1,77 @@
+package backend.academy.structures;
+
+import java.util.Arrays;
+
+/**
+ * Disjoint-set (union-find) over the elements {@code 0 .. size - 1}.
+ * <p>
+ * The whole forest is stored in a single int array: a non-negative value is the parent
+ * of the element, a negative value marks a root and keeps its rank as {@code -(rank + 1)}.
+ * Union by rank together with path compression makes every operation practically O(1).
+ */
+public class DisjointSet {
+    private final int[] parents;
+
+    /**
+     * Creates a disjoint-set where every element is in its own set.
+     *
+     * @param size the number of elements
+     */
+    public DisjointSet(int size) {
+        parents = new int[size];
+        Arrays.fill(parents, -1);
+    }
+
+    /**
+     * Puts every element back into its own set.
+     */
+    public void reset() {
+        Arrays.fill(parents, -1);
+    }
+
+    /**
+     * Finds the representative of the set containing the element.
+     *
+     * @param element the element
+     * @return the root of the set
+     */
+    public int find(int element) {
+        int root = element;
+        while (parents[root] >= 0) {
+            root = parents[root];
+        }
+        // Path compression: point every element on the way directly to the root
+        int current = element;
+        while (current != root) {
+            int next = parents[current];
+            parents[current] = root;
+            current = next;
+        }
+        return root;
+    }
+
+    /**
+     * Merges the sets containing the two elements.
+     *
+     * @param first  the first element
+     * @param second the second element
+     * @return true if the elements were in different sets, false if they were already connected
+     */
+    public boolean union(int first, int second) {
+        int firstRoot = find(first);
+        int secondRoot = find(second);
+        if (firstRoot == secondRoot) {
+            return false;
+        }
+        // Roots keep -(rank + 1), so the smaller value has the higher rank
+        if (parents[firstRoot] < parents[secondRoot]) {
+            parents[secondRoot] = firstRoot;
+        } else {
+            if (parents[firstRoot] == parents[secondRoot]) {
+                parents[secondRoot]--;
+            }
+            parents[firstRoot] = secondRoot;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,99 @@
+package backend.academy.structures;
+
+import java.util.Arrays;
+
+/**
+ * Set of int keys from the range {@code [0, capacity)} with constant time operations.
+ * <p>
+ * Keys are kept densely packed in an array, and the position of every key is stored in a
+ * second array indexed by the key itself. This gives O(1) membership tests, insertion,
+ * removal of an arbitrary key and access by position, which makes picking and removing a
+ * random element O(1) as well: the removed slot is filled with the last element.
+ */
+public class IndexedFrontier {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int[] positions;
+    private int[] keys;
+    private int size;
+
+    /**
+     * Creates an empty frontier for keys from {@code 0} to {@code capacity - 1}.
+     *
+     * @param capacity the number of possible keys
+     */
+    public IndexedFrontier(int capacity) {
+        // Positions are stored shifted by one, so the zeroed array means "no key is present"
+        this.positions = new int[capacity];
+        this.keys = new int[Math.min(capacity, INITIAL_CAPACITY)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int key) {
+        return positions[key] != 0;
+    }
+
+    /**
+     * Adds the key to the frontier if it is not present yet.
+     *
+     * @param key the key to add
+     * @return true if the key was added, false if it was already present
+     */
+    public boolean add(int key) {
+        if (contains(key)) {
+            return false;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, Math.min(positions.length, size * 2));
+        }
+        keys[size++] = key;
+        positions[key] = size;
+        return true;
+    }
+
+    /**
+     * Returns the key stored at the given position.
+     *
+     * @param position the position from {@code 0} to {@code size() - 1}
+     * @return the key at the position
+     */
+    public int get(int position) {
+        return keys[position];
+    }
+
+    /**
+     * Removes the key from the frontier if it is present.
+     *
+     * @param key the key to remove
+     * @return true if the key was removed, false if it was not present
+     */
+    public boolean remove(int key) {
+        if (!contains(key)) {
+            return false;
+        }
+        removeAt(positions[key] - 1);
+        return true;
+    }
+
+    /**
+     * Removes the key stored at the given position, moving the last key into its place.
+     *
+     * @param position the position from {@code 0} to {@code size() - 1}
+     * @return the removed key
+     */
+    public int removeAt(int position) {
+        int key = keys[position];
+        int last = keys[--size];
+        keys[position] = last;
+        positions[last] = position + 1;
+        positions[key] = 0;
+        return key;
+    }
+}
@@ -0,0 +1,185 @@
+package backend.academy.structures;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int keys from the range {@code [0, capacity)} with int priorities.
+ * <p>
+ * Keys and their priorities are kept in two parallel arrays in heap order, and the position
+ * of every key in the heap is stored in a third array indexed by the key itself. This allows
+ * to lower the priority of a key that is already in the heap instead of adding it once more,
+ * so every key is present at most once and nothing is allocated per operation. The heap
+ * arrays grow with the number of keys in the heap, only the positions take
+ * {@code capacity} ints.
+ * <p>
+ * {@link LongIndexedMinHeap} is the twin of this heap with long priorities, kept separate so that
+ * the solvers with int distances do not pay for long ones. A fix to one heap must go into the other.
+ */
+public class IndexedMinHeap {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int[] positions;
+    private int[] keys;
+    private int[] priorities;
+    private int size;
+
+    /**
+     * Creates an empty heap for keys from {@code 0} to {@code capacity - 1}.
+     *
+     * @param capacity the number of possible keys
+     */
+    public IndexedMinHeap(int capacity) {
+        // Positions are stored shifted by one, so the zeroed array means "no key is present"
+        this.positions = new int[capacity];
+        this.keys = new int[Math.min(capacity, INITIAL_CAPACITY)];
+        this.priorities = new int[keys.length];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of possible keys.
+     *
+     * @return the capacity given to the constructor
+     */
+    public int capacity() {
+        return positions.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int key) {
+        return positions[key] != 0;
+    }
+
+    /**
+     * Adds the key with the given priority, or lowers the priority of the key if it is
+     * already in the heap. A higher priority never replaces a lower one.
+     *
+     * @param key      the key
+     * @param priority the priority of the key
+     * @return true if the key was added or its priority was lowered
+     */
+    public boolean push(int key, int priority) {
+        int position = positions[key] - 1;
+        if (position < 0) {
+            if (size == keys.length) {
+                int capacity = Math.min(positions.length, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                priorities = Arrays.copyOf(priorities, capacity);
+            }
+            position = size++;
+        } else if (priority >= priorities[position]) {
+            return false;
+        }
+        siftUp(position, key, priority);
+        return true;
+    }
+
+    /**
+     * Returns the priority of the key in the heap.
+     *
+     * @param key the key present in the heap
+     * @return the priority of the key
+     */
+    public int priority(int key) {
+        return priorities[positions[key] - 1];
+    }
+
+    /**
+     * Returns the priority of the key with the lowest priority without removing it.
+     *
+     * @return the lowest priority in the heap
+     */
+    public int peekPriority() {
+        return priorities[0];
+    }
+
+    /**
+     * Removes the key with the lowest priority.
+     *
+     * @return the removed key
+     */
+    public int poll() {
+        int key = keys[0];
+        positions[key] = 0;
+        if (--size > 0) {
+            siftDown(0, keys[size], priorities[size]);
+        }
+        return key;
+    }
+
+    /**
+     * Removes the key from the heap if it is present.
+     *
+     * @param key the key to remove
+     * @return true if the key was removed, false if it was not present
+     */
+    public boolean remove(int key) {
+        int position = positions[key] - 1;
+        if (position < 0) {
+            return false;
+        }
+        positions[key] = 0;
+        if (--size > position) {
+            // Put the last key into the freed place and restore the order in either direction
+            int lastKey = keys[size];
+            int lastPriority = priorities[size];
+            siftDown(position, lastKey, lastPriority);
+            if (keys[position] == lastKey) {
+                siftUp(position, lastKey, lastPriority);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all keys from the heap.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[keys[i]] = 0;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position, int key, int priority) {
+        int current = position;
+        while (current > 0) {
+            int parent = (current - 1) >>> 1;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            place(current, keys[parent], priorities[parent]);
+            current = parent;
+        }
+        place(current, key, priority);
+    }
+
+    private void siftDown(int position, int key, int priority) {
+        int current = position;
+        int half = size >>> 1;
+        while (current < half) {
+            int child = 2 * current + 1;
+            if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                child++;
+            }
+            if (priority <= priorities[child]) {
+                break;
+            }
+            place(current, keys[child], priorities[child]);
+            current = child;
+        }
+        place(current, key, priority);
+    }
+
+    private void place(int position, int key, int priority) {
+        keys[position] = key;
+        priorities[position] = priority;
+        positions[key] = position + 1;
+    }
+}
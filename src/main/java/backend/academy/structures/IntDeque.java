@@ -0,0 +1,81 @@
+package backend.academy.structures;
+
+import java.util.Arrays;
+
+/**
+ * Double-ended queue of int values backed by a growable ring buffer.
+ * <p>
+ * Values are stored without boxing, and the buffer is only reallocated when it is full,
+ * so adding and removing values at both ends takes amortized constant time.
+ */
+public class IntDeque {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] values = new int[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Inserts the value at the front of the deque.
+     *
+     * @param value the value to insert
+     */
+    public void addFirst(int value) {
+        ensureCapacity();
+        head = (head - 1) & (values.length - 1);
+        values[head] = value;
+        size++;
+    }
+
+    /**
+     * Inserts the value at the end of the deque.
+     *
+     * @param value the value to insert
+     */
+    public void addLast(int value) {
+        ensureCapacity();
+        values[(head + size) & (values.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * Removes the value at the front of the deque.
+     *
+     * @return the removed value
+     */
+    public int pollFirst() {
+        int value = values[head];
+        head = (head + 1) & (values.length - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * Removes all values from the deque.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void ensureCapacity() {
+        if (size < values.length) {
+            return;
+        }
+        // The capacity stays a power of two, so positions wrap around with a mask
+        int[] grown = Arrays.copyOf(values, values.length * 2);
+        int wrapped = head + size - values.length;
+        if (wrapped > 0) {
+            System.arraycopy(values, 0, grown, values.length, wrapped);
+        }
+        values = grown;
+    }
+}
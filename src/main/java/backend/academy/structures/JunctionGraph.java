@@ -0,0 +1,241 @@
+package backend.academy.structures;
+
+import backend.academy.enums.Direction;
+import backend.academy.interfaces.Grid;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Weighted graph of the junctions of a maze with the corridors between them collapsed into edges.
+ * <p>
+ * A passable cell with exactly two passable neighbours is a corridor cell, every other passable
+ * cell is a node: a junction, a dead end or an isolated cell. A corridor leads from one node to
+ * another without branching, so it is replaced by a directed edge from each of its ends, weighted
+ * with the cost of entering all cells of the corridor and the node at the other end. A closed loop
+ * of corridor cells gets one of its cells as a node, so every passable cell is a node or lies on an
+ * edge. On perfect and near-perfect mazes most cells are corridor cells, and the graph is an order
+ * of magnitude smaller than the maze.
+ * <p>
+ * The edges are stored in the compressed sparse row form: the edges of node {@code u} take
+ * positions from {@code offset(u)} to {@code offset(u + 1) - 1} of the flat int arrays of targets,
+ * weights and first corridor cells. Node numbers are the ranks of node cells in row-major order,
+ * looked up with a bitset and the number of nodes before every word of it, so the graph needs
+ * no array with an entry for every cell of the maze.
+ */
+public class JunctionGraph {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int WORD_SHIFT = 6;
+
+    private final Grid grid;
+    private final long[] nodeWords;
+    private final int[] ranks;
+    private final int[] cells;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] firsts;
+
+    private JunctionGraph(Grid grid, BitSet nodes, BitSet walked) {
+        this.grid = grid;
+        this.nodeWords = Arrays.copyOf(nodes.toLongArray(), (grid.size() >> WORD_SHIFT) + 1);
+        this.ranks = new int[nodeWords.length];
+        for (int word = 1; word < nodeWords.length; word++) {
+            ranks[word] = ranks[word - 1] + Long.bitCount(nodeWords[word - 1]);
+        }
+        int nodeCount = nodes.cardinality();
+        this.cells = new int[nodeCount];
+        this.offsets = new int[nodeCount + 1];
+        int node = 0;
+        for (int cell = nodes.nextSetBit(0); cell >= 0; cell = nodes.nextSetBit(cell + 1)) {
+            cells[node] = cell;
+            offsets[node + 1] = offsets[node] + passableNeighbours(cell);
+            node++;
+        }
+        int edgeCount = offsets[nodeCount];
+        this.targets = new int[edgeCount];
+        this.weights = new int[edgeCount];
+        this.firsts = new int[edgeCount];
+        for (node = 0; node < nodeCount; node++) {
+            traceEdges(node, walked);
+        }
+    }
+
+    /**
+     * Builds the junction graph of the grid.
+     *
+     * @param grid the grid of the maze
+     * @return the graph of the grid
+     */
+    public static JunctionGraph of(Grid grid) {
+        BitSet nodes = new BitSet(grid.size());
+        for (int cell = 0; cell < grid.size(); cell++) {
+            if (grid.type(cell).isPassable() && passableNeighbours(grid, cell) != 2) {
+                nodes.set(cell);
+            }
+        }
+        while (true) {
+            BitSet walked = new BitSet(grid.size());
+            JunctionGraph graph = new JunctionGraph(grid, nodes, walked);
+            // Closed loops are not reached from any node, so one cell of each becomes a node
+            if (!graph.promoteLoops(nodes, walked)) {
+                return graph;
+            }
+        }
+    }
+
+    public int nodeCount() {
+        return cells.length;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the node of the cell.
+     *
+     * @param cell the index of the cell
+     * @return the number of the node, or -1 if the cell is not a node
+     */
+    public int node(int cell) {
+        int word = cell >>> WORD_SHIFT;
+        long bit = 1L << cell;
+        if ((nodeWords[word] & bit) == 0) {
+            return -1;
+        }
+        return ranks[word] + Long.bitCount(nodeWords[word] & (bit - 1));
+    }
+
+    /**
+     * Returns the cell of the node.
+     *
+     * @param node the number of the node
+     * @return the index of the cell
+     */
+    public int cell(int node) {
+        return cells[node];
+    }
+
+    /**
+     * Returns the position of the first edge of the node; the edges of the node end
+     * at the position of the first edge of the next node.
+     *
+     * @param node the number of the node, up to {@code nodeCount()}
+     * @return the position of the first edge
+     */
+    public int offset(int node) {
+        return offsets[node];
+    }
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    public int weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Returns the first cell entered by the edge: the first corridor cell,
+     * or the cell of the target if the nodes are adjacent.
+     *
+     * @param edge the position of the edge
+     * @return the index of the cell
+     */
+    public int first(int edge) {
+        return firsts[edge];
+    }
+
+    /**
+     * Returns the cost of entering the cell.
+     *
+     * @param cell the index of the cell
+     * @return the weight of the cell type
+     */
+    public int cost(int cell) {
+        return grid.type(cell).type();
+    }
+
+    /**
+     * Returns the passable neighbour of a corridor cell that is not the given one.
+     *
+     * @param previous the index of the neighbour the corridor is entered from
+     * @param current  the index of the corridor cell
+     * @return the index of the other passable neighbour
+     */
+    public int next(int previous, int current) {
+        for (Direction direction : DIRECTIONS) {
+            int neighbour = grid.neighbour(current, direction);
+            if (neighbour >= 0 && neighbour != previous && grid.type(neighbour).isPassable()) {
+                return neighbour;
+            }
+        }
+        throw new IllegalStateException("Cell " + current + " is not a corridor cell");
+    }
+
+    /**
+     * Creates an edge for every passable neighbour of the node by walking along its corridor.
+     */
+    private void traceEdges(int node, BitSet walked) {
+        int source = cells[node];
+        int edge = offsets[node];
+        for (Direction direction : DIRECTIONS) {
+            int first = grid.neighbour(source, direction);
+            if (first < 0 || !grid.type(first).isPassable()) {
+                continue;
+            }
+            int previous = source;
+            int current = first;
+            int weight = 0;
+            while (node(current) < 0) {
+                walked.set(current);
+                weight += cost(current);
+                int next = next(previous, current);
+                previous = current;
+                current = next;
+            }
+            targets[edge] = node(current);
+            weights[edge] = weight + cost(current);
+            firsts[edge] = first;
+            edge++;
+        }
+    }
+
+    private boolean promoteLoops(BitSet nodes, BitSet walked) {
+        boolean promoted = false;
+        for (int cell = 0; cell < grid.size(); cell++) {
+            if (grid.type(cell).isPassable() && !nodes.get(cell) && !walked.get(cell)) {
+                nodes.set(cell);
+                markLoop(cell, walked);
+                promoted = true;
+            }
+        }
+        return promoted;
+    }
+
+    private void markLoop(int cell, BitSet walked) {
+        int previous = cell;
+        int current = next(-1, cell);
+        while (current != cell) {
+            walked.set(current);
+            int next = next(previous, current);
+            previous = current;
+            current = next;
+        }
+    }
+
+    private int passableNeighbours(int cell) {
+        return passableNeighbours(grid, cell);
+    }
+
+    private static int passableNeighbours(Grid grid, int cell) {
+        int count = 0;
+        for (Direction direction : DIRECTIONS) {
+            int neighbour = grid.neighbour(cell, direction);
+            if (neighbour >= 0 && grid.type(neighbour).isPassable()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
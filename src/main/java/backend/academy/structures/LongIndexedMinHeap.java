@@ -0,0 +1,163 @@
+package backend.academy.structures;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int keys from the range {@code [0, capacity)} with long priorities.
+ * <p>
+ * It is laid out as {@link IndexedMinHeap}, with keys and priorities in two parallel arrays in heap
+ * order and the position of every key in a third array, but keeps its priorities in longs. Only
+ * the solvers whose distances do not fit into an int use it, so the other solvers keep moving half
+ * as many bytes per sift.
+ * <p>
+ * The two heaps cannot share their code. Keeping the priorities of {@link IndexedMinHeap} in longs
+ * behind its int methods made Dijkstra's algorithm about 5% slower on 9-million-cell grids. A generic
+ * heap would box every priority, and a common base class would turn the comparisons in the sift
+ * loops into virtual calls. So the heaps are twins: a fix to one must go into the other, and a test
+ * runs both through the same operations to catch them drifting apart.
+ */
+public class LongIndexedMinHeap {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int[] positions;
+    private int[] keys;
+    private long[] priorities;
+    private int size;
+
+    /**
+     * Creates an empty heap for keys from {@code 0} to {@code capacity - 1}.
+     *
+     * @param capacity the number of possible keys
+     */
+    public LongIndexedMinHeap(int capacity) {
+        // Positions are stored shifted by one, so the zeroed array means "no key is present"
+        this.positions = new int[capacity];
+        this.keys = new int[Math.min(capacity, INITIAL_CAPACITY)];
+        this.priorities = new long[keys.length];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds the key with the given priority, or lowers the priority of the key if it is
+     * already in the heap. A higher priority never replaces a lower one.
+     *
+     * @param key      the key
+     * @param priority the priority of the key
+     * @return true if the key was added or its priority was lowered
+     */
+    public boolean push(int key, long priority) {
+        int position = positions[key] - 1;
+        if (position < 0) {
+            if (size == keys.length) {
+                int capacity = Math.min(positions.length, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                priorities = Arrays.copyOf(priorities, capacity);
+            }
+            position = size++;
+        } else if (priority >= priorities[position]) {
+            return false;
+        }
+        siftUp(position, key, priority);
+        return true;
+    }
+
+    /**
+     * Returns the priority of the key with the lowest priority without removing it.
+     *
+     * @return the lowest priority in the heap
+     */
+    public long peekPriority() {
+        return priorities[0];
+    }
+
+    /**
+     * Removes the key with the lowest priority.
+     *
+     * @return the removed key
+     */
+    public int poll() {
+        int key = keys[0];
+        positions[key] = 0;
+        if (--size > 0) {
+            siftDown(0, keys[size], priorities[size]);
+        }
+        return key;
+    }
+
+    /**
+     * Removes the key from the heap if it is present.
+     *
+     * @param key the key to remove
+     * @return true if the key was removed, false if it was not present
+     */
+    public boolean remove(int key) {
+        int position = positions[key] - 1;
+        if (position < 0) {
+            return false;
+        }
+        positions[key] = 0;
+        if (--size > position) {
+            // Put the last key into the freed place and restore the order in either direction
+            int lastKey = keys[size];
+            long lastPriority = priorities[size];
+            siftDown(position, lastKey, lastPriority);
+            if (keys[position] == lastKey) {
+                siftUp(position, lastKey, lastPriority);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all keys from the heap.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[keys[i]] = 0;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position, int key, long priority) {
+        int current = position;
+        while (current > 0) {
+            int parent = (current - 1) >>> 1;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            place(current, keys[parent], priorities[parent]);
+            current = parent;
+        }
+        place(current, key, priority);
+    }
+
+    private void siftDown(int position, int key, long priority) {
+        int current = position;
+        int half = size >>> 1;
+        while (current < half) {
+            int child = 2 * current + 1;
+            if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                child++;
+            }
+            if (priority <= priorities[child]) {
+                break;
+            }
+            place(current, keys[child], priorities[child]);
+            current = child;
+        }
+        place(current, key, priority);
+    }
+
+    private void place(int position, int key, long priority) {
+        keys[position] = key;
+        priorities[position] = priority;
+        positions[key] = position + 1;
+    }
+}
@@ -0,0 +1,160 @@
+package backend.academy.structures;
+
+import backend.academy.entities.DistanceField;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Per-cell state of a search, reused from one search to the next and cleared in constant time.
+ * <p>
+ * Every cell keeps its distance, the cell it was entered from and a stamp. Starting a search only
+ * increments the generation of the workspace, and a cell counts as reached only if its stamp equals
+ * the current generation, so the values left by earlier searches are simply ignored. The arrays are
+ * filled again only when the generation counter wraps around, once in about two billion searches.
+ * The workspace also keeps the heaps of the search, which are cleared in time proportional to the
+ * number of keys left in them.
+ * <p>
+ * Every solver owns its workspaces, so the results of its last search stay readable whatever
+ * other solvers do on the same thread, and the memory goes away with the solver. The arrays grow
+ * to the largest grid searched by the owner and are never shrunk, so a solver kept for repeated
+ * queries pays for the allocation once.
+ * <p>
+ * Parallel searches reach cells with {@link #claim(int, int, int)}, which sets the stamp with a
+ * compare-and-set, so the stamps also serve as the visited set shared by the workers.
+ */
+public class SearchWorkspace {
+    private static final VarHandle STAMPS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private int[] stamps = new int[0];
+    private int[] distances = new int[0];
+    private int[] previous = new int[0];
+    private IndexedMinHeap[] heaps = new IndexedMinHeap[0];
+    private int generation;
+    private int cells;
+
+    /**
+     * Starts a new search: all cells become unreached.
+     *
+     * @param size the number of cells in the grid to be searched
+     */
+    public void start(int size) {
+        cells = size;
+        if (stamps.length < size) {
+            stamps = new int[size];
+            distances = new int[size];
+            previous = new int[size];
+            generation = 0;
+        } else if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            generation = 0;
+        }
+        generation++;
+    }
+
+    /**
+     * Checks if the cell has been reached in the current search.
+     *
+     * @param cell the index of the cell
+     * @return true if the cell has been reached
+     */
+    public boolean isReached(int cell) {
+        return stamps[cell] == generation;
+    }
+
+    /**
+     * Returns the distance of the cell in the current search.
+     *
+     * @param cell the index of the cell
+     * @return the distance, or {@link DistanceField#UNREACHED} if the cell has not been reached
+     */
+    public int distance(int cell) {
+        return stamps[cell] == generation ? distances[cell] : DistanceField.UNREACHED;
+    }
+
+    /**
+     * Returns the cell the given cell was entered from.
+     *
+     * @param cell the index of a reached cell
+     * @return the index of the previous cell, the start is its own previous cell
+     */
+    public int previous(int cell) {
+        return previous[cell];
+    }
+
+    /**
+     * Marks the cell as reached, or reached again by a cheaper way.
+     *
+     * @param cell     the index of the cell
+     * @param from     the index of the cell it is entered from
+     * @param distance the distance of the cell
+     */
+    public void reach(int cell, int from, int distance) {
+        stamps[cell] = generation;
+        previous[cell] = from;
+        distances[cell] = distance;
+    }
+
+    /**
+     * Marks the cell as reached unless it has already been reached in the current search.
+     * Only the thread whose call succeeds writes the distance and the previous cell, and they
+     * become visible to other threads once the workers are joined.
+     *
+     * @param cell     the index of the cell
+     * @param from     the index of the cell it is entered from
+     * @param distance the distance of the cell
+     * @return true if the cell has been reached by this call
+     */
+    public boolean claim(int cell, int from, int distance) {
+        int stamp = (int) STAMPS.getVolatile(stamps, cell);
+        while (stamp != generation) {
+            int witness = (int) STAMPS.compareAndExchange(stamps, cell, stamp, generation);
+            if (witness == stamp) {
+                previous[cell] = from;
+                distances[cell] = distance;
+                return true;
+            }
+            stamp = witness;
+        }
+        return false;
+    }
+
+    /**
+     * Returns an empty heap for the cells of the current search.
+     *
+     * @param number the number of the heap, a search using two heaps asks for heaps 0 and 1
+     * @return the cleared heap
+     */
+    public IndexedMinHeap heap(int number) {
+        if (heaps.length <= number) {
+            heaps = Arrays.copyOf(heaps, number + 1);
+        }
+        if (heaps[number] == null || heaps[number].capacity() < cells) {
+            heaps[number] = new IndexedMinHeap(stamps.length);
+        }
+        heaps[number].clear();
+        return heaps[number];
+    }
+
+    /**
+     * Copies the distances of the current search into a new array.
+     *
+     * @return the distance of every cell, {@link DistanceField#UNREACHED} for unreached cells
+     */
+    public int[] copyDistances() {
+        int[] copy = new int[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            copy[cell] = distance(cell);
+        }
+        return copy;
+    }
+
+    /**
+     * Copies the previous cells of the current search into a new array.
+     *
+     * @return the previous cell of every cell, meaningful for reached cells only
+     */
+    public int[] copyPrevious() {
+        return Arrays.copyOf(previous, cells);
+    }
+}
@@ -0,0 +1,278 @@
+package backend.academy.structures;
+
+import backend.academy.entities.Coordinate;
+import backend.academy.entities.DistanceField;
+import backend.academy.interfaces.Grid;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Answers path queries in a perfect maze by the lowest common ancestor in its spanning tree.
+ * <p>
+ * In a perfect maze the path between two cells is unique: it goes from the first cell up the tree
+ * to their lowest common ancestor and down to the second cell. Every cell keeps its depth and the
+ * cost of the path from the root, so the cost and the length of a path follow from the ancestor
+ * alone, and the path itself is restored by following the parents in time proportional to its length.
+ * <p>
+ * The ancestor is the cell of the lowest depth between the first visits of the two cells in the
+ * Euler tour of the tree. The tour is split into blocks of {@value #BLOCK} positions, the minimum of
+ * every block is kept, and a sparse table over the blocks answers the minimum of any run of whole
+ * blocks with two lookups. A query scans at most two partial blocks of fixed size besides, so it takes
+ * constant time. The table has {@code log(n / BLOCK)} levels of {@code n / BLOCK} entries, fewer than
+ * the n cells of the tour on any grid that fits into memory, so the index is built in linear time.
+ */
+public class TreePathIndex {
+    private static final int BLOCK_SHIFT = 5;
+    private static final int BLOCK = 1 << BLOCK_SHIFT;
+
+    private final Grid grid;
+    private final int[] parents;
+    private final int[] depths;
+    private final int[] costs;
+    private final int[] firsts;
+    private final int[] tour;
+    private final int[] tourDepths;
+    private final int[][] table;
+
+    /**
+     * Builds the index of the spanning tree of a maze.
+     *
+     * @param grid    the grid of the maze
+     * @param parents the index of the parent of every cell of the tree, the root is its own parent
+     *                and the cells outside of the tree have the parent -1, as recorded by generators
+     * @throws IllegalArgumentException if the parents do not match the grid, have no root,
+     *                                  or leave a passable cell outside of the tree
+     */
+    public TreePathIndex(Grid grid, int[] parents) {
+        checkCoverage(grid, parents);
+        this.grid = grid;
+        this.parents = parents;
+        this.depths = new int[parents.length];
+        this.costs = new int[parents.length];
+        this.firsts = new int[parents.length];
+
+        // Children of every cell in the compressed sparse row form
+        int[] offsets = new int[parents.length + 1];
+        int root = -1;
+        int treeSize = 0;
+        for (int cell = 0; cell < parents.length; cell++) {
+            if (parents[cell] == cell) {
+                root = cell;
+            } else if (parents[cell] >= 0) {
+                offsets[parents[cell] + 1]++;
+            }
+            treeSize += parents[cell] >= 0 ? 1 : 0;
+        }
+        if (root < 0) {
+            throw new IllegalArgumentException("The tree has no root");
+        }
+        for (int cell = 0; cell < parents.length; cell++) {
+            offsets[cell + 1] += offsets[cell];
+        }
+        int[] children = new int[treeSize];
+        int[] cursors = offsets.clone();
+        for (int cell = 0; cell < parents.length; cell++) {
+            if (parents[cell] >= 0 && parents[cell] != cell) {
+                children[cursors[parents[cell]]++] = cell;
+            }
+        }
+
+        this.tour = new int[2 * treeSize - 1];
+        walkTour(root, offsets, children);
+        // Depths along the tour keep the scans of blocks sequential in memory
+        this.tourDepths = new int[tour.length];
+        for (int position = 0; position < tour.length; position++) {
+            tourDepths[position] = depths[tour[position]];
+        }
+        this.table = buildTable();
+    }
+
+    /**
+     * Checks that the tree covers every passable cell of the grid. Otherwise a part of the maze would
+     * silently be unreachable, as with a generator that does not record the tree.
+     */
+    private static void checkCoverage(Grid grid, int[] parents) {
+        if (parents.length != grid.size()) {
+            throw new IllegalArgumentException(
+                "The tree has " + parents.length + " cells, but the grid has " + grid.size());
+        }
+        for (int cell = 0; cell < parents.length; cell++) {
+            if (parents[cell] < 0 && grid.type(cell).isPassable()) {
+                throw new IllegalArgumentException(
+                    "The passage (" + grid.row(cell) + ", " + grid.col(cell) + ") is not in the tree");
+            }
+        }
+    }
+
+    /**
+     * Checks if the cell belongs to the tree.
+     *
+     * @param cell the cell
+     * @return true if the cell is a passage of the maze covered by the tree
+     */
+    public boolean contains(Coordinate cell) {
+        return parents[grid.index(cell.row(), cell.col())] >= 0;
+    }
+
+    /**
+     * Finds the lowest common ancestor of two cells of the tree.
+     *
+     * @param first  the first cell
+     * @param second the second cell
+     * @return the ancestor
+     */
+    public Coordinate ancestor(Coordinate first, Coordinate second) {
+        int cell = ancestor(grid.index(first.row(), first.col()), grid.index(second.row(), second.col()));
+        return new Coordinate(grid.row(cell), grid.col(cell));
+    }
+
+    /**
+     * Returns the number of cells in the path between two cells, both ends included.
+     *
+     * @param start the first cell of the path
+     * @param end   the last cell of the path
+     * @return the number of cells, or {@link DistanceField#UNREACHED} if a cell is not in the tree
+     */
+    public int length(Coordinate start, Coordinate end) {
+        int source = grid.index(start.row(), start.col());
+        int target = grid.index(end.row(), end.col());
+        if (parents[source] < 0 || parents[target] < 0) {
+            return DistanceField.UNREACHED;
+        }
+        int ancestor = ancestor(source, target);
+        return depths[source] + depths[target] - 2 * depths[ancestor] + 1;
+    }
+
+    /**
+     * Returns the cost of the path between two cells: the cost of entering every cell of the path but the first.
+     *
+     * @param start the first cell of the path
+     * @param end   the last cell of the path
+     * @return the cost of the path, or {@link DistanceField#UNREACHED} if a cell is not in the tree
+     */
+    public int distance(Coordinate start, Coordinate end) {
+        int source = grid.index(start.row(), start.col());
+        int target = grid.index(end.row(), end.col());
+        if (parents[source] < 0 || parents[target] < 0) {
+            return DistanceField.UNREACHED;
+        }
+        int ancestor = ancestor(source, target);
+        // Going up enters the ancestors of the start, going down enters the cells below the ancestor
+        return costs[source] - grid.type(source).type() - costs[ancestor] + grid.type(ancestor).type()
+            + costs[target] - costs[ancestor];
+    }
+
+    /**
+     * Restores the path between two cells.
+     *
+     * @param start the first cell of the path
+     * @param end   the last cell of the path
+     * @return the path from the start to the end, or an empty list if a cell is not in the tree
+     */
+    public List<Coordinate> path(Coordinate start, Coordinate end) {
+        int source = grid.index(start.row(), start.col());
+        int target = grid.index(end.row(), end.col());
+        List<Coordinate> path = new ArrayList<>();
+        if (parents[source] < 0 || parents[target] < 0) {
+            return path;
+        }
+        int ancestor = ancestor(source, target);
+        for (int cell = source; cell != ancestor; cell = parents[cell]) {
+            path.add(new Coordinate(grid.row(cell), grid.col(cell)));
+        }
+        int upCount = path.size();
+        for (int cell = target; cell != ancestor; cell = parents[cell]) {
+            path.add(new Coordinate(grid.row(cell), grid.col(cell)));
+        }
+        path.add(new Coordinate(grid.row(ancestor), grid.col(ancestor)));
+        Collections.reverse(path.subList(upCount, path.size()));
+        return path;
+    }
+
+    private int ancestor(int first, int second) {
+        int left = Math.min(firsts[first], firsts[second]);
+        int right = Math.max(firsts[first], firsts[second]);
+        int leftBlock = left >> BLOCK_SHIFT;
+        int rightBlock = right >> BLOCK_SHIFT;
+        if (leftBlock == rightBlock) {
+            return tour[scan(left, right)];
+        }
+        int best = lower(scan(left, (leftBlock + 1) * BLOCK - 1), scan(rightBlock * BLOCK, right));
+        if (rightBlock - leftBlock > 1) {
+            int level = log2(rightBlock - leftBlock - 1);
+            best = lower(best, lower(table[level][leftBlock + 1], table[level][rightBlock - (1 << level)]));
+        }
+        return tour[best];
+    }
+
+    /**
+     * Walks around the tree from the root, recording every cell each time it is passed.
+     */
+    private void walkTour(int root, int[] offsets, int[] children) {
+        int[] stack = new int[BLOCK];
+        int[] cursors = offsets.clone();
+        int stackSize = 0;
+        int position = 0;
+        stack[stackSize++] = root;
+        firsts[root] = position;
+        tour[position++] = root;
+        while (stackSize > 0) {
+            int cell = stack[stackSize - 1];
+            if (cursors[cell] < offsets[cell + 1]) {
+                int child = children[cursors[cell]++];
+                depths[child] = depths[cell] + 1;
+                costs[child] = costs[cell] + grid.type(child).type();
+                if (stackSize == stack.length) {
+                    stack = Arrays.copyOf(stack, stackSize * 2);
+                }
+                stack[stackSize++] = child;
+                firsts[child] = position;
+                tour[position++] = child;
+            } else {
+                stackSize--;
+                if (stackSize > 0) {
+                    tour[position++] = stack[stackSize - 1];
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the sparse table, where level {@code k} holds the position of the lowest cell
+     * in {@code 2^k} blocks starting from every block.
+     */
+    private int[][] buildTable() {
+        int blocks = (tour.length + BLOCK - 1) >> BLOCK_SHIFT;
+        int[][] levels = new int[log2(blocks) + 1][];
+        levels[0] = new int[blocks];
+        for (int block = 0; block < blocks; block++) {
+            levels[0][block] = scan(block * BLOCK, Math.min(tour.length, (block + 1) * BLOCK) - 1);
+        }
+        for (int level = 1; level < levels.length; level++) {
+            int span = 1 << (level - 1);
+            levels[level] = new int[blocks - 2 * span + 1];
+            for (int block = 0; block < levels[level].length; block++) {
+                levels[level][block] = lower(levels[level - 1][block], levels[level - 1][block + span]);
+            }
+        }
+        return levels;
+    }
+
+    private int scan(int from, int to) {
+        int best = from;
+        for (int position = from + 1; position <= to; position++) {
+            best = lower(best, position);
+        }
+        return best;
+    }
+
+    private int lower(int first, int second) {
+        return tourDepths[second] < tourDepths[first] ? second : first;
+    }
+
+    private static int log2(int value) {
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(value);
+    }
+}
@@ -1,26 +1,75 @@
 import backend.academy.MainInterface;
+import backend.academy.entities.BatchReport;
 import backend.academy.entities.Cell;
 import backend.academy.entities.Coordinate;
+import backend.academy.entities.DistanceField;
 import backend.academy.entities.Maze;
+import backend.academy.entities.PackedGrid;
+import backend.academy.enums.Direction;
 import backend.academy.enums.Type;
+import backend.academy.factories.ExecutorFactory;
+import backend.academy.factories.SolverFactory;
+import backend.academy.generators.EllerGenerator;
+import backend.academy.generators.KruskalGenerator;
+import backend.academy.generators.ParallelTiledGenerator;
+import backend.academy.generators.PrimGenerator;
+import backend.academy.generators.RecursiveBacktrackingGenerator;
+import backend.academy.generators.SidewinderGenerator;
+import backend.academy.generators.SidewinderGrid;
+import backend.academy.interfaces.Grid;
 import backend.academy.interfaces.Renderer;
 import backend.academy.interfaces.Solver;
+import backend.academy.modifiers.NonIdealMazeModifier;
 import backend.academy.renderer.BaseRenderer;
+import backend.academy.services.BatchService;
+import backend.academy.services.DistanceFieldService;
 import backend.academy.services.StartService;
 import backend.academy.settings.Settings;
+import backend.academy.solvers.AStarSolver;
 import backend.academy.solvers.BFSSolver;
+import backend.academy.solvers.BidirectionalDijkstraSolver;
 import backend.academy.solvers.DFSSolver;
+import backend.academy.solvers.DeltaSteppingSolver;
+import backend.academy.solvers.DijkstraSolver;
+import backend.academy.solvers.JunctionGraphSolver;
+import backend.academy.solvers.LPAStarSolver;
+import backend.academy.solvers.ParallelBFSSolver;
+import backend.academy.structures.BucketQueue;
+import backend.academy.structures.DisjointSet;
+import backend.academy.structures.IndexedMinHeap;
+import backend.academy.structures.LongIndexedMinHeap;
+import backend.academy.structures.TreePathIndex;
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class AllRequiredTests {
@@ -65,6 +114,27 @@ public class AllRequiredTests {
             assertFalse(list.isEmpty());
         }
 
+        @Test
+        public void ableToFindPathInDeepMazeDFSSolver() {
+            // One winding corridor of about 100 000 cells, deeper than a recursive search could go
+            int height = 401;
+            int width = 501;
+            Grid grid = new PackedGrid(height, width);
+            for (int row = 0; row < height; row++) {
+                for (int col = 0; col < width; col++) {
+                    boolean isCorridor = row % 2 == 1 && col > 0 && col < width - 1;
+                    boolean isTurn = row % 4 == 2 && col == width - 2 || row % 4 == 0 && col == 1;
+                    grid.setType(row, col, isCorridor || isTurn && row < height - 1 ? Type.NORMAL : Type.WALL);
+                }
+            }
+            DFSSolver solver = new DFSSolver();
+
+            List<Coordinate> list = solver.solve(new Maze(height, width, grid), start, new Coordinate(399, 1));
+
+            assertEquals(99_999, list.size());
+            assertEquals(99_998, solver.distance(399, 1));
+        }
+
         @Test
         public void ableToFindPathBFSSolver() {
             Solver solver = new BFSSolver();
@@ -74,10 +144,21 @@ public class AllRequiredTests {
             assertFalse(list.isEmpty());
         }
 
+        @Test
+        public void ableToFindPathDijkstraSolver() {
+            Solver solver = new DijkstraSolver();
+
+            List<Coordinate> list = solver.solve(maze, start, end);
+
+            assertEquals(5, list.size());
+            assertEquals(start, list.getFirst());
+            assertEquals(end, list.getLast());
+        }
+
         @Test
         public void ableToFindNoPathDFSSolver() {
             Solver solver = new DFSSolver();
-            maze.grid()[1][2] = new Cell(new Coordinate(1, 2), Type.WALL);
+            maze.grid().setCell(new Cell(new Coordinate(1, 2), Type.WALL));
 
             List<Coordinate> list = solver.solve(maze, start, end);
 
@@ -88,13 +169,117 @@ public class AllRequiredTests {
         public void ableToFindNoPathBFSSolver() {
             Solver solver = new BFSSolver();
 
-            maze.grid()[1][2] = new Cell(new Coordinate(1, 2), Type.WALL);
+            maze.grid().setCell(new Cell(new Coordinate(1, 2), Type.WALL));
+
+            List<Coordinate> list = solver.solve(maze, start, end);
+
+            assertTrue(list.isEmpty());
+        }
+
+        @Test
+        public void ableToFindNoPathDijkstraSolver() {
+            Solver solver = new DijkstraSolver();
+
+            maze.grid().setCell(new Cell(new Coordinate(1, 2), Type.WALL));
 
             List<Coordinate> list = solver.solve(maze, start, end);
 
             assertTrue(list.isEmpty());
         }
 
+        @Test
+        public void ableToRepairPathLPAStarSolver() {
+            LPAStarSolver solver = new LPAStarSolver();
+            solver.solve(maze, start, end);
+
+            Coordinate blocked = new Coordinate(1, 2);
+            maze.grid().setCell(new Cell(blocked, Type.WALL));
+            solver.update(List.of(blocked));
+            assertTrue(solver.solve(maze, start, end).isEmpty());
+
+            Coordinate opened = new Coordinate(3, 2);
+            maze.grid().setCell(new Cell(opened, Type.NORMAL));
+            solver.update(List.of(opened));
+            List<Coordinate> list = solver.solve(maze, start, end);
+
+            assertEquals(List.of(start, new Coordinate(2, 1), new Coordinate(3, 1), opened, end), list);
+        }
+
+        @Test
+        public void ableToRestartAfterUnreportedChangeLPAStarSolver() {
+            LPAStarSolver solver = new LPAStarSolver();
+            solver.solve(maze, start, end);
+
+            // The maze is changed without an update, so the kept search is outdated
+            maze.grid().setCell(new Cell(new Coordinate(1, 2), Type.WALL));
+            Coordinate opened = new Coordinate(3, 2);
+            maze.grid().setCell(new Cell(opened, Type.NORMAL));
+            List<Coordinate> list = solver.solve(maze, start, end);
+
+            assertEquals(List.of(start, new Coordinate(2, 1), new Coordinate(3, 1), opened, end), list);
+        }
+
+        @Test
+        public void ableToComputeFullDistanceField() {
+            DijkstraSolver solver = new DijkstraSolver();
+            solver.fullDistanceField(true);
+
+            solver.solve(maze, start, new Coordinate(1, 2));
+
+            assertEquals(4, solver.distance(end.row(), end.col()));
+        }
+
+        @Test
+        public void ableToKeepResultsOfInterleavedSolvers() {
+            DijkstraSolver first = new DijkstraSolver();
+            first.solve(maze, start, end);
+            int distance = first.distance(end.row(), end.col());
+
+            // Another solver on the same thread searches from the other end over the whole maze
+            DijkstraSolver second = new DijkstraSolver();
+            second.fullDistanceField(true);
+            second.solve(maze, end, start);
+
+            assertEquals(4, distance);
+            assertEquals(distance, first.distance(end.row(), end.col()));
+            assertEquals(0, first.distance(start.row(), start.col()));
+            assertEquals(0, second.distance(end.row(), end.col()));
+        }
+
+        @Test
+        public void ableToReuseWorkspaceBetweenSearches() {
+            Solver solver = new DijkstraSolver();
+            solver.solve(maze, start, end);
+
+            maze.grid().setCell(new Cell(new Coordinate(1, 2), Type.WALL));
+            List<Coordinate> list = solver.solve(maze, start, end);
+
+            assertTrue(list.isEmpty());
+        }
+
+        @Test
+        public void ableToReuseCachedDistanceField() {
+            DistanceFieldService service = new DistanceFieldService();
+
+            List<Coordinate> list = service.path(maze, start, end);
+
+            assertEquals(new BFSSolver().solve(maze, start, end), list);
+            assertEquals(4, service.distance(maze, start, end));
+            assertSame(service.distanceField(maze, start), service.distanceField(maze, start));
+        }
+
+        @Test
+        public void ableToRecomputeCachedDistanceFieldAfterChange() {
+            DistanceFieldService service = new DistanceFieldService();
+            assertEquals(4, service.distance(maze, start, end));
+
+            // The maze is changed in place without invalidating its fields
+            maze.grid().setCell(new Cell(new Coordinate(1, 2), Type.WALL));
+
+            assertTrue(service.path(maze, start, end).isEmpty());
+            assertEquals(DistanceField.UNREACHED, service.distance(maze, start, end));
+        }
+
         @Test
         public void correctMazeDisplay() {
             Renderer renderer = new BaseRenderer();
@@ -210,5 +395,605 @@ public class AllRequiredTests {
             assertTrue(result);
         }
 
+        @Test
+        public void rejectMalformedSeed() {
+            String previous = System.setProperty(Settings.SEED_PROPERTY, "12a");
+            try {
+                assertThrows(IllegalArgumentException.class, Settings::seed);
+                System.setProperty(Settings.SEED_PROPERTY, " 42 ");
+                assertEquals(42L, Settings.seed().getAsLong());
+            } finally {
+                if (previous == null) {
+                    System.clearProperty(Settings.SEED_PROPERTY);
+                } else {
+                    System.setProperty(Settings.SEED_PROPERTY, previous);
+                }
+            }
+        }
+
+        @Test
+        public void rejectMalformedLimit() {
+            String previous = System.setProperty(Settings.MAX_HEIGHT_PROPERTY, "4O");
+            try {
+                assertThrows(IllegalArgumentException.class, Settings::maxHeight);
+                System.setProperty(Settings.MAX_HEIGHT_PROPERTY, String.valueOf(Settings.MIN_HEIGHT - 1));
+                assertThrows(IllegalArgumentException.class, Settings::maxHeight);
+                System.setProperty(Settings.MAX_HEIGHT_PROPERTY, " 40 ");
+                assertEquals(40, Settings.maxHeight());
+            } finally {
+                if (previous == null) {
+                    System.clearProperty(Settings.MAX_HEIGHT_PROPERTY);
+                } else {
+                    System.setProperty(Settings.MAX_HEIGHT_PROPERTY, previous);
+                }
+            }
+        }
+
+    }
+
+    @Nested
+    public class BatchTestingBlock {
+
+        @Test
+        public void ableToGenerateBatchOnVirtualThreads() throws InterruptedException {
+            BitSet indexes = new BitSet();
+
+            BatchReport report;
+            try (ExecutorService executor = new ExecutorFactory(2).selectExecutor(ExecutorFactory.VIRTUAL)) {
+                report = new BatchService(executor, new SplittableRandom(), 3)
+                    .generate(10, 15, 21, "random", (maze, index) -> {
+                        assertEquals(15, maze.height());
+                        assertEquals(21, maze.width());
+                        indexes.set(index);
+                    });
+            }
+
+            assertEquals(10, report.count());
+            assertEquals(10, indexes.cardinality());
+            assertEquals(10, indexes.nextClearBit(0));
+        }
+
+        @Test
+        public void ableToCancelBatchOnFailure() {
+            // Runs the first maze at once and never runs the others, so they are still in flight on the failure
+            List<Future<?>> tasks = new ArrayList<>();
+            ExecutorService executor = new AbstractExecutorService() {
+                @Override
+                protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+                    RunnableFuture<T> task = super.newTaskFor(callable);
+                    tasks.add(task);
+                    return task;
+                }
+
+                @Override
+                public void execute(Runnable command) {
+                    if (tasks.size() == 1) {
+                        command.run();
+                    }
+                }
+
+                @Override
+                public void shutdown() {
+                }
+
+                @Override
+                public List<Runnable> shutdownNow() {
+                    return List.of();
+                }
+
+                @Override
+                public boolean isShutdown() {
+                    return false;
+                }
+
+                @Override
+                public boolean isTerminated() {
+                    return false;
+                }
+
+                @Override
+                public boolean awaitTermination(long timeout, TimeUnit unit) {
+                    return false;
+                }
+            };
+            BatchService service = new BatchService(executor, new SplittableRandom(), 3);
+
+            assertThrows(IllegalStateException.class, () -> service.generate(10, 15, 21, "1", (maze, index) -> {
+                throw new IllegalStateException("Consumer failed");
+            }));
+
+            assertEquals(4, tasks.size());
+            assertFalse(tasks.getFirst().isCancelled());
+            for (Future<?> task : tasks.subList(1, tasks.size())) {
+                assertTrue(task.isCancelled());
+            }
+        }
+    }
+
+    @Nested
+    public class SolverTestingBlock {
+        private static final int HEIGHT = 41;
+        private static final int WIDTH = 61;
+        private static final int MAZES = 20;
+
+        /**
+         * Returns the solvers of cheap paths, each with the factor by which its path may cost more than the cheapest.
+         */
+        static Stream<Arguments> weightedSolvers() {
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            return Stream.of(
+                Arguments.of(new BFSSolver(), 1.0),
+                Arguments.of(new AStarSolver(), 1.0),
+                Arguments.of(new AStarSolver(AStarSolver.DEFAULT_WEIGHT), AStarSolver.DEFAULT_WEIGHT),
+                Arguments.of(new BidirectionalDijkstraSolver(), 1.0),
+                Arguments.of(new JunctionGraphSolver(), 1.0),
+                Arguments.of(new LPAStarSolver(), 1.0),
+                // Buckets narrower than the cost of sand, so the heavy steps are relaxed in their own phase
+                Arguments.of(new DeltaSteppingSolver(pool, 1, 1), 1.0),
+                Arguments.of(new DeltaSteppingSolver(pool, 2, 1), 1.0),
+                Arguments.of(new DeltaSteppingSolver(), 1.0));
+        }
+
+        @ParameterizedTest
+        @MethodSource("weightedSolvers")
+        public void ableToFindCheapestPath(Solver solver, double bound) {
+            for (int seed = 0; seed < MAZES; seed++) {
+                SplittableRandom random = new SplittableRandom(seed);
+                Maze maze = randomMaze(random);
+                Coordinate start = randomPassage(maze, random);
+                Coordinate end = randomPassage(maze, random);
+                boolean isApart = Math.abs(end.row() - start.row()) + Math.abs(end.col() - start.col()) > 1;
+                if (seed % 4 == 3 && isApart) {
+                    enclose(maze, end);
+                }
+
+                List<Coordinate> expected = new DijkstraSolver().solve(maze, start, end);
+                List<Coordinate> actual = solver.solve(maze, start, end);
+
+                assertEquals(expected.isEmpty(), actual.isEmpty());
+                if (!expected.isEmpty()) {
+                    assertPath(maze, start, end, actual);
+                    int cheapest = cost(maze, expected);
+                    int found = cost(maze, actual);
+                    assertTrue(found >= cheapest && found <= bound * cheapest,
+                        solver + " found a path of cost " + found + " instead of " + cheapest + " in maze " + seed);
+                }
+            }
+        }
+
+        @Test
+        public void ableToKeepParallelBFSSolverOutOfRandomChoice() {
+            for (int seed = 0; seed < MAZES; seed++) {
+                SolverFactory factory = new SolverFactory(new SplittableRandom(seed));
+                assertFalse(factory.selectSolver("") instanceof ParallelBFSSolver, "random choice " + seed);
+            }
+            assertTrue(new SolverFactory(new SplittableRandom()).selectSolver("8") instanceof ParallelBFSSolver);
+        }
+
+        @Test
+        public void ableToFindFewestMovesParallelBFSSolver() {
+            try (ForkJoinPool pool = new ForkJoinPool(4)) {
+                ParallelBFSSolver solver = new ParallelBFSSolver(pool, 1);
+                for (int seed = 0; seed < MAZES; seed++) {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    Maze maze = randomMaze(random);
+                    Coordinate start = randomPassage(maze, random);
+                    Coordinate end = randomPassage(maze, random);
+                    // With one cost for every passage the cheapest path has the fewest moves
+                    for (int cell = 0; cell < maze.grid().size(); cell++) {
+                        if (maze.grid().type(cell).isPassable()) {
+                            maze.grid().setType(cell, Type.NORMAL);
+                        }
+                    }
+
+                    List<Coordinate> expected = new DijkstraSolver().solve(maze, start, end);
+                    List<Coordinate> actual = solver.solve(maze, start, end);
+
+                    assertPath(maze, start, end, actual);
+                    assertEquals(expected.size(), actual.size());
+                    assertEquals(actual.size() - 1, solver.distance(end.row(), end.col()));
+                }
+            }
+        }
+
+        @Test
+        public void ableToRepairTerrainChangesLPAStarSolver() {
+            Type[] terrains = {Type.ICE, Type.NORMAL, Type.SAND, Type.WALL};
+            for (int seed = 0; seed < MAZES; seed++) {
+                SplittableRandom random = new SplittableRandom(seed);
+                Maze maze = randomMaze(random);
+                Coordinate start = randomPassage(maze, random);
+                Coordinate end = randomPassage(maze, random);
+                LPAStarSolver solver = new LPAStarSolver();
+                for (int round = 0; round < 10; round++) {
+                    List<Coordinate> changed = new ArrayList<>();
+                    for (int i = 0; i < 5; i++) {
+                        Coordinate cell = new Coordinate(1 + random.nextInt(HEIGHT - 2), 1 + random.nextInt(WIDTH - 2));
+                        if (!cell.equals(start)) {
+                            maze.grid().setCell(new Cell(cell, terrains[random.nextInt(terrains.length)]));
+                            changed.add(cell);
+                        }
+                    }
+                    solver.update(changed);
+                    // Every other round asks for another end, which resumes the search instead of starting anew
+                    if (round % 2 == 1 || !maze.grid().type(end.row(), end.col()).isPassable()) {
+                        end = randomPassage(maze, random);
+                    }
+
+                    List<Coordinate> expected = new DijkstraSolver().solve(maze, start, end);
+                    List<Coordinate> actual = solver.solve(maze, start, end);
+
+                    assertEquals(expected.isEmpty(), actual.isEmpty());
+                    if (!expected.isEmpty()) {
+                        assertPath(maze, start, end, actual);
+                        assertEquals(cost(maze, expected), cost(maze, actual), "maze " + seed + ", round " + round);
+                    }
+                }
+            }
+        }
+
+        @Test
+        public void ableToRepairModifiedMazeLPAStarSolver() {
+            SplittableRandom random = new SplittableRandom(1);
+            Maze maze = new RecursiveBacktrackingGenerator(random).generate(HEIGHT, WIDTH);
+            Coordinate start = new Coordinate(1, 1);
+            Coordinate end = new Coordinate(HEIGHT - 2, WIDTH - 2);
+            LPAStarSolver solver = new LPAStarSolver();
+            solver.solve(maze, start, end);
+
+            NonIdealMazeModifier modifier = new NonIdealMazeModifier(maze.grid(), random);
+            modifier.modify(HEIGHT, WIDTH);
+            List<Coordinate> changed = modifier.changedCells();
+            solver.update(changed);
+
+            assertFalse(changed.isEmpty());
+            assertThrows(UnsupportedOperationException.class, () -> changed.add(start));
+            List<Coordinate> expected = new DijkstraSolver().solve(maze, start, end);
+            assertEquals(cost(maze, expected), cost(maze, solver.solve(maze, start, end)));
+        }
+
+        @Test
+        public void ableToRebuildGraphAfterChangeJunctionGraphSolver() {
+            SplittableRandom random = new SplittableRandom(1);
+            Maze maze = randomMaze(random);
+            Coordinate start = new Coordinate(1, 1);
+            Coordinate end = new Coordinate(HEIGHT - 2, WIDTH - 2);
+            JunctionGraphSolver solver = new JunctionGraphSolver();
+            assertFalse(solver.solve(maze, start, end).isEmpty());
+
+            enclose(maze, end);
+
+            assertTrue(solver.solve(maze, start, end).isEmpty());
+        }
+
+        private static Maze randomMaze(SplittableRandom random) {
+            Maze maze = new RecursiveBacktrackingGenerator(random).generate(HEIGHT, WIDTH);
+            return new NonIdealMazeModifier(maze.grid(), random).modify(HEIGHT, WIDTH);
+        }
+
+        private static Coordinate randomPassage(Maze maze, SplittableRandom random) {
+            Coordinate cell;
+            do {
+                cell = new Coordinate(random.nextInt(HEIGHT), random.nextInt(WIDTH));
+            } while (!maze.grid().type(cell.row(), cell.col()).isPassable());
+            return cell;
+        }
+
+        /**
+         * Turns the passable neighbours of the cell into walls, so no path leads to it.
+         */
+        private static void enclose(Maze maze, Coordinate cell) {
+            Grid grid = maze.grid();
+            for (Direction direction : Direction.values()) {
+                int neighbour = grid.neighbour(grid.index(cell.row(), cell.col()), direction);
+                if (neighbour >= 0 && grid.type(neighbour).isPassable()) {
+                    grid.setType(neighbour, Type.WALL);
+                }
+            }
+        }
+
+        private static void assertPath(Maze maze, Coordinate start, Coordinate end, List<Coordinate> path) {
+            assertEquals(start, path.getFirst());
+            assertEquals(end, path.getLast());
+            for (int i = 1; i < path.size(); i++) {
+                Coordinate previous = path.get(i - 1);
+                Coordinate current = path.get(i);
+                assertEquals(1, Math.abs(current.row() - previous.row()) + Math.abs(current.col() - previous.col()));
+                assertTrue(maze.grid().type(current.row(), current.col()).isPassable());
+            }
+        }
+
+        private static int cost(Maze maze, List<Coordinate> path) {
+            int cost = 0;
+            for (Coordinate cell : path.subList(1, path.size())) {
+                cost += maze.grid().type(cell.row(), cell.col()).type();
+            }
+            return cost;
+        }
+    }
+
+    @Nested
+    public class GeneratorTestingBlock {
+        private static final int HEIGHT = 31;
+        private static final int WIDTH = 41;
+        private static final long SEED = 7;
+
+        @Test
+        public void ableToGeneratePerfectMazeRecursiveBacktracking() {
+            Maze maze = new RecursiveBacktrackingGenerator(new SplittableRandom(SEED)).generate(HEIGHT, WIDTH);
+
+            assertPerfectMaze(maze);
+            Maze again = new RecursiveBacktrackingGenerator(new SplittableRandom(SEED)).generate(HEIGHT, WIDTH);
+            assertSameMaze(maze, again);
+        }
+
+        @Test
+        public void ableToGeneratePerfectMazePrim() {
+            Maze maze = new PrimGenerator(new SplittableRandom(SEED)).generate(HEIGHT, WIDTH);
+
+            assertPerfectMaze(maze);
+            assertSameMaze(maze, new PrimGenerator(new SplittableRandom(SEED)).generate(HEIGHT, WIDTH));
+        }
+
+        @Test
+        public void ableToGeneratePerfectMazeKruskal() {
+            Maze maze = new KruskalGenerator(new SplittableRandom(SEED)).generate(HEIGHT, WIDTH);
+
+            assertPerfectMaze(maze);
+            assertSameMaze(maze, new KruskalGenerator(new SplittableRandom(SEED)).generate(HEIGHT, WIDTH));
+        }
+
+        @Test
+        public void ableToMergeSetsDisjointSet() {
+            DisjointSet sets = new DisjointSet(5);
+
+            assertTrue(sets.union(0, 1));
+            assertTrue(sets.union(3, 4));
+            assertTrue(sets.union(1, 4));
+            assertFalse(sets.union(0, 3));
+            assertEquals(sets.find(0), sets.find(4));
+            assertNotEquals(sets.find(2), sets.find(0));
+
+            sets.reset();
+            assertTrue(sets.union(0, 3));
+        }
+
+        @Test
+        public void ableToGeneratePerfectMazeEller() {
+            Maze maze = new EllerGenerator(new SplittableRandom(SEED)).generate(HEIGHT, WIDTH);
+
+            assertPerfectMaze(maze);
+            assertSameMaze(maze, new EllerGenerator(new SplittableRandom(SEED)).generate(HEIGHT, WIDTH));
+        }
+
+        @Test
+        public void ableToStreamRowsEller() throws IOException {
+            Maze maze = new EllerGenerator(new SplittableRandom(SEED)).generate(HEIGHT, WIDTH);
+            BaseRenderer renderer = new BaseRenderer();
+            StringBuilder streamed = new StringBuilder();
+            int[] nextRow = {0};
+
+            new EllerGenerator(new SplittableRandom(SEED)).generate(HEIGHT, WIDTH, (row, cells) -> {
+                assertEquals(nextRow[0]++, row);
+                assertEquals(WIDTH, cells.length);
+                for (int col = 0; col < WIDTH; col++) {
+                    assertEquals(maze.grid().type(row, col), cells[col]);
+                }
+                renderer.renderRow(cells, streamed);
+            });
+
+            assertEquals(HEIGHT, nextRow[0]);
+            assertEquals(renderer.render(maze).toString(), streamed.toString());
+        }
+
+        @Test
+        public void ableToGeneratePerfectMazeParallelTiled() {
+            Maze maze;
+            Maze sequential;
+            try (ForkJoinPool pool = new ForkJoinPool(4); ForkJoinPool single = new ForkJoinPool(1)) {
+                maze = new ParallelTiledGenerator(new SplittableRandom(SEED), pool, 3).generate(HEIGHT, WIDTH);
+                sequential = new ParallelTiledGenerator(new SplittableRandom(SEED), single, 3).generate(HEIGHT, WIDTH);
+            }
+
+            assertPerfectMaze(maze);
+            assertSameMaze(maze, sequential);
+        }
+
+        @Test
+        public void ableToGeneratePerfectMazeSidewinder() {
+            Maze maze = new SidewinderGenerator(new SplittableRandom(SEED)).generate(HEIGHT, WIDTH);
+
+            assertPerfectMaze(maze);
+            assertSameMaze(maze, new SidewinderGenerator(new SplittableRandom(SEED)).generate(HEIGHT, WIDTH));
+        }
+
+        @Test
+        public void ableToOverrideCellsSidewinderGrid() {
+            Grid grid = new SidewinderGrid(HEIGHT, WIDTH, SEED);
+            Grid original = new SidewinderGrid(HEIGHT, WIDTH, SEED);
+            int room = grid.index(3, 3);
+            int wall = grid.index(2, 2);
+            Type roomType = grid.type(room);
+
+            grid.setType(room, Type.WALL);
+            grid.setType(wall, Type.SAND);
+            assertEquals(Type.WALL, grid.type(room));
+            assertEquals(Type.SAND, grid.type(wall));
+
+            grid.setType(room, roomType);
+            grid.setType(wall, Type.WALL);
+            for (int cell = 0; cell < grid.size(); cell++) {
+                assertEquals(original.type(cell), grid.type(cell));
+            }
+        }
+
+        /**
+         * Checks that the passages of the maze form a tree: all of them are connected,
+         * and there is one pair of adjacent passages less than there are passages.
+         */
+        private static void assertPerfectMaze(Maze maze) {
+            Grid grid = maze.grid();
+            int passages = 0;
+            int edges = 0;
+            int first = -1;
+            for (int cell = 0; cell < grid.size(); cell++) {
+                if (grid.type(cell).isPassable()) {
+                    passages++;
+                    first = first < 0 ? cell : first;
+                    edges += isPassable(grid, grid.neighbour(cell, Direction.RIGHT)) ? 1 : 0;
+                    edges += isPassable(grid, grid.neighbour(cell, Direction.DOWN)) ? 1 : 0;
+                }
+            }
+            assertTrue(passages > 0);
+            assertEquals(passages - 1, edges);
+            assertEquals(passages, countReachable(grid, first));
+        }
+
+        private static int countReachable(Grid grid, int source) {
+            BitSet reached = new BitSet(grid.size());
+            int[] queue = new int[grid.size()];
+            int tail = 0;
+            queue[tail++] = source;
+            reached.set(source);
+            for (int head = 0; head < tail; head++) {
+                for (Direction direction : Direction.values()) {
+                    int next = grid.neighbour(queue[head], direction);
+                    if (isPassable(grid, next) && !reached.get(next)) {
+                        reached.set(next);
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            return tail;
+        }
+
+        private static boolean isPassable(Grid grid, int cell) {
+            return cell >= 0 && grid.type(cell).isPassable();
+        }
+
+        private static void assertSameMaze(Maze expected, Maze actual) {
+            assertEquals(expected.grid().size(), actual.grid().size());
+            for (int cell = 0; cell < expected.grid().size(); cell++) {
+                assertEquals(expected.grid().type(cell), actual.grid().type(cell));
+            }
+        }
+    }
+
+    @Nested
+    public class StructureTestingBlock {
+
+        @Test
+        public void ableToKeepTwinHeapsInStep() {
+            int capacity = 64;
+            IndexedMinHeap heap = new IndexedMinHeap(capacity);
+            LongIndexedMinHeap longHeap = new LongIndexedMinHeap(capacity);
+            SplittableRandom random = new SplittableRandom(1);
+            for (int operation = 0; operation < 10_000; operation++) {
+                int key = random.nextInt(capacity);
+                int choice = random.nextInt(4);
+                if (choice < 2) {
+                    int priority = random.nextInt(100);
+                    assertEquals(heap.push(key, priority), longHeap.push(key, priority));
+                } else if (choice == 2) {
+                    assertEquals(heap.remove(key), longHeap.remove(key));
+                } else if (!heap.isEmpty()) {
+                    assertEquals(heap.peekPriority(), longHeap.peekPriority());
+                    assertEquals(heap.poll(), longHeap.poll());
+                }
+                assertEquals(heap.size(), longHeap.size());
+            }
+        }
+
+        @Test
+        public void ableToWrapAroundBucketQueue() {
+            int maxStep = 5;
+            BucketQueue queue = new BucketQueue(maxStep);
+            SplittableRandom random = new SplittableRandom(1);
+            queue.reset(0);
+            queue.push(0, 0);
+
+            // Priorities run far past the number of buckets, so every bucket is reused many times
+            int polled = 0;
+            int key = 1;
+            while (!queue.isEmpty()) {
+                int previousPriority = queue.priority();
+                queue.poll();
+                polled++;
+                assertTrue(queue.priority() >= previousPriority);
+                // Two keys after every second poll keep a few different priorities waiting
+                for (int i = 0; i < 2 && polled % 2 == 1 && key < 1000; i++) {
+                    queue.push(key++, queue.priority() + 1 + random.nextInt(maxStep));
+                }
+            }
+
+            assertEquals(1000, polled);
+            assertTrue(queue.priority() > 10 * (maxStep + 1));
+        }
+
+        @Test
+        public void ableToPollFreeStepFirstBucketQueue() {
+            BucketQueue queue = new BucketQueue(2);
+            queue.reset(7);
+            queue.push(1, 8);
+            queue.push(2, 9);
+            queue.push(3, 7);
+
+            assertEquals(3, queue.poll());
+            queue.push(4, 7);
+            assertEquals(4, queue.poll());
+            assertEquals(1, queue.poll());
+            queue.push(5, 8);
+            assertEquals(5, queue.poll());
+            assertEquals(2, queue.poll());
+            assertEquals(9, queue.priority());
+        }
+    }
+
+    @Nested
+    public class TreeTestingBlock {
+
+        @Test
+        public void ableToFindPathInSpanningTree() {
+            RecursiveBacktrackingGenerator generator = new RecursiveBacktrackingGenerator(new SplittableRandom(1));
+            generator.spanningTree(true);
+            Maze maze = generator.generate(21, 31);
+            Coordinate start = new Coordinate(1, 1);
+            Coordinate end = new Coordinate(19, 29);
+
+            TreePathIndex index = new TreePathIndex(maze.grid(), generator.treeParents());
+            BFSSolver solver = new BFSSolver();
+            List<Coordinate> expected = solver.solve(maze, start, end);
+
+            assertEquals(expected, index.path(start, end));
+            assertEquals(expected.size(), index.length(start, end));
+            assertEquals(solver.distance(end.row(), end.col()), index.distance(start, end));
+        }
+
+        @Test
+        public void ableToFindPathInSpanningTreePrim() {
+            PrimGenerator generator = new PrimGenerator(new SplittableRandom(1));
+            generator.spanningTree(true);
+            Maze maze = generator.generate(21, 31);
+            Coordinate start = new Coordinate(1, 1);
+            Coordinate end = new Coordinate(19, 29);
+
+            TreePathIndex index = new TreePathIndex(maze.grid(), generator.treeParents());
+
+            assertEquals(new BFSSolver().solve(maze, start, end), index.path(start, end));
+        }
+
+        @Test
+        public void ableToRejectMissingSpanningTreeKruskal() {
+            KruskalGenerator generator = new KruskalGenerator(new SplittableRandom(1));
+            generator.spanningTree(true);
+            Maze maze = generator.generate(21, 31);
+
+            // Kruskal joins rooms in a random order, so it has no tree to record
+            assertNull(generator.treeParents());
+            int[] rootOnly = new int[maze.grid().size()];
+            Arrays.fill(rootOnly, -1);
+            rootOnly[maze.grid().index(1, 1)] = maze.grid().index(1, 1);
+            assertThrows(IllegalArgumentException.class, () -> new TreePathIndex(maze.grid(), rootOnly));
+        }
     }
 }
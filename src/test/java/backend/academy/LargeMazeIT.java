@@ -0,0 +1,165 @@
+package backend.academy;
+
+import backend.academy.entities.Coordinate;
+import backend.academy.entities.Maze;
+import backend.academy.factories.GeneratorFactory;
+import backend.academy.factories.RandomFactory;
+import backend.academy.factories.SolverFactory;
+import backend.academy.generators.EllerGenerator;
+import backend.academy.generators.RecursiveBacktrackingGenerator;
+import backend.academy.modifiers.NonIdealMazeModifier;
+import backend.academy.renderer.BaseRenderer;
+import backend.academy.settings.Settings;
+import backend.academy.solvers.AStarSolver;
+import backend.academy.solvers.DijkstraSolver;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that every stage of the large-maze mode fits into its recorded time and memory budget:
+ * every generator of the menu, the streamed Eller generator, the modification, every solver of the
+ * menu and the rendering. After every stage the heap retained by its results is checked.
+ * <p>
+ * The peak of the heap is checked by the heap itself: the tests refuse to run with a maximum heap
+ * larger than {@link #PEAK_MEMORY_BUDGET_MB}, which Maven passes to the forked JVM, so a stage that
+ * needs more at its peak fails with an {@link OutOfMemoryError}. Summing the peaks of the heap pools
+ * would not do, since they mostly count garbage that has not been collected yet.
+ * Run with {@code mvn verify -Dmaze.large=true}.
+ */
+@EnabledIfSystemProperty(named = Settings.LARGE_MODE_PROPERTY, matches = "true")
+public class LargeMazeIT {
+    private static final int HEIGHT = Settings.LARGE_MAX_HEIGHT;
+    private static final int WIDTH = Settings.LARGE_MAX_WIDTH;
+    private static final int GENERATORS = 6;
+    private static final int SOLVERS = 10;
+    private static final String DFS_SOLVER = "2";
+    private static final String WEIGHTED_A_STAR_SOLVER = "5";
+    private static final String PARALLEL_BFS_SOLVER = "8";
+
+    private static final Duration GENERATION_BUDGET = Duration.ofSeconds(90);
+    private static final Duration STREAMING_BUDGET = Duration.ofSeconds(30);
+    private static final Duration MODIFICATION_BUDGET = Duration.ofSeconds(10);
+    private static final Duration SOLVING_BUDGET = Duration.ofSeconds(60);
+    private static final Duration RENDERING_BUDGET = Duration.ofSeconds(10);
+    private static final long RETAINED_MEMORY_BUDGET_MB = 160;
+    private static final long STREAMING_RETAINED_MEMORY_BUDGET_MB = 16;
+    /** The maximum heap the tests run with, the same as {@code -Xmx4g} of the failsafe plugin. */
+    private static final long PEAK_MEMORY_BUDGET_MB = 4096;
+
+    private final RandomGenerator random = new RandomFactory(Settings.randomAlgorithm(), Settings.seed()).create();
+
+    @BeforeEach
+    public void checkHeapLimit() {
+        long maxHeap = Runtime.getRuntime().maxMemory() >> 20;
+        assertTrue(maxHeap <= PEAK_MEMORY_BUDGET_MB,
+            "The peak memory budget is only checked with -Xmx of at most " + PEAK_MEMORY_BUDGET_MB + " MB, got "
+                + maxHeap + " MB");
+    }
+
+    @Test
+    public void allStagesFitIntoBudget() throws IOException {
+        long start = startStage();
+        Maze maze = new RecursiveBacktrackingGenerator(random).generate(HEIGHT, WIDTH);
+        assertStage("generation", start, GENERATION_BUDGET, RETAINED_MEMORY_BUDGET_MB);
+
+        start = startStage();
+        maze = new NonIdealMazeModifier(maze.grid(), random).modify(HEIGHT, WIDTH);
+        assertStage("modification", start, MODIFICATION_BUDGET, RETAINED_MEMORY_BUDGET_MB);
+
+        // The corners are the farthest apart, so the search covers most of the maze
+        Coordinate first = new Coordinate(1, 1);
+        Coordinate last = new Coordinate(HEIGHT - 2, WIDTH - 2);
+        start = startStage();
+        List<Coordinate> cheapest = new DijkstraSolver().solve(maze, first, last);
+        assertStage("Dijkstra solving", start, SOLVING_BUDGET, RETAINED_MEMORY_BUDGET_MB);
+        assertFalse(cheapest.isEmpty());
+
+        SolverFactory solvers = new SolverFactory(random);
+        for (int option = 1; option <= SOLVERS; option++) {
+            String choice = String.valueOf(option);
+            start = startStage();
+            // The solver is dropped with its workspace, so only the path is retained after the stage
+            List<Coordinate> path = solvers.selectSolver(choice).solve(maze, first, last);
+            assertStage("solving with option " + choice, start, SOLVING_BUDGET, RETAINED_MEMORY_BUDGET_MB);
+            assertPathCost(choice, maze, cost(maze, cheapest), path);
+        }
+
+        start = startStage();
+        new BaseRenderer().render(maze, cheapest, Writer.nullWriter());
+        assertStage("rendering", start, RENDERING_BUDGET, RETAINED_MEMORY_BUDGET_MB);
+    }
+
+    @Test
+    public void everyGeneratorFitsIntoBudget() {
+        GeneratorFactory generators = new GeneratorFactory(random);
+        for (int option = 1; option <= GENERATORS; option++) {
+            long start = startStage();
+            Maze maze = generators.selectGenerator(String.valueOf(option)).generate(HEIGHT, WIDTH);
+            assertStage("generation " + option, start, GENERATION_BUDGET, RETAINED_MEMORY_BUDGET_MB);
+            assertEquals(HEIGHT * WIDTH, maze.grid().size());
+        }
+    }
+
+    @Test
+    public void streamedEllerGeneratorFitsIntoBudget() throws IOException {
+        BaseRenderer renderer = new BaseRenderer();
+        Writer out = Writer.nullWriter();
+
+        long start = startStage();
+        new EllerGenerator(random).generate(HEIGHT, WIDTH, (row, cells) -> renderer.renderRow(cells, out));
+        // Only a few rows are kept at a time, so nothing of the size of the maze is retained
+        assertStage("streamed Eller generation", start, STREAMING_BUDGET, STREAMING_RETAINED_MEMORY_BUDGET_MB);
+    }
+
+    /**
+     * Checks the cost of the path found by the solver of the given menu option against the cheapest one.
+     */
+    private static void assertPathCost(String choice, Maze maze, int cheapest, List<Coordinate> path) {
+        assertFalse(path.isEmpty(), "solver " + choice + " found no path");
+        int found = cost(maze, path);
+        switch (choice) {
+            // DFS takes the first path it finds, and parallel BFS counts moves instead of the cost
+            case DFS_SOLVER, PARALLEL_BFS_SOLVER -> assertTrue(found >= cheapest);
+            case WEIGHTED_A_STAR_SOLVER ->
+                assertTrue(found >= cheapest && found <= AStarSolver.DEFAULT_WEIGHT * cheapest);
+            default -> assertEquals(cheapest, found, "solver " + choice);
+        }
+    }
+
+    private static int cost(Maze maze, List<Coordinate> path) {
+        int cost = 0;
+        for (Coordinate cell : path.subList(1, path.size())) {
+            cost += maze.grid().type(cell.row(), cell.col()).type();
+        }
+        return cost;
+    }
+
+    private static long startStage() {
+        return System.nanoTime();
+    }
+
+    private static void assertStage(String stage, long start, Duration budget, long retainedBudgetMb) {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        assertTrue(elapsed.compareTo(budget) <= 0, stage + " took " + elapsed + ", budget is " + budget);
+
+        long retained = retainedMemoryMb();
+        assertTrue(retained <= retainedBudgetMb,
+            stage + " retained " + retained + " MB, budget is " + retainedBudgetMb + " MB");
+    }
+
+    private static long retainedMemoryMb() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+    }
+
+}